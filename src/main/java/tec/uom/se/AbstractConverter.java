@@ -107,12 +107,14 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
   }
 
   /**
+   * Converts the specified value, {@link BigDecimal} values are converted using the {@link Precision#current() current} math context.
+   *
    * @throws IllegalArgumentException
    *           if the value is </code>null</code>.
    */
   public Number convert(Number value) {
     if (value instanceof BigDecimal) {
-      return convert((BigDecimal) value, MathContext.DECIMAL128);
+      return convert((BigDecimal) value, Precision.current());
     }
     if (value != null) {
       return convert(value.doubleValue());
@@ -305,7 +305,7 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Compara
    */
   @Override
   public int hashCode() {
-    return Objects.hash(getUnit(), getValue());
+    return 31 * (31 + Objects.hashCode(getUnit())) + Objects.hashCode(getValue()); // Same as Objects.hash without varargs
   }
 
   public abstract boolean isBig();
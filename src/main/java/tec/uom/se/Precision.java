@@ -0,0 +1,166 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se;
+
+import java.math.MathContext;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Holds the {@link MathContext} used by the {@link java.math.BigDecimal} arithmetic of this implementation (decimal, number, fixed point and lazy
+ * quantities, and converters). Equality checks compare values exactly and are not affected.
+ * </p>
+ *
+ * <p>
+ * The effective context is resolved in the following order:
+ * <ol>
+ * <li>the context passed explicitly to a method (e.g. {@link AbstractQuantity#to(javax.measure.Unit, MathContext)} or
+ * {@link AbstractConverter#convert(java.math.BigDecimal, MathContext)}),</li>
+ * <li>the context of the innermost {@link #scoped(MathContext) scope} opened by the current thread,</li>
+ * <li>the global {@link #getDefault() default}, which is {@link MathContext#DECIMAL128} unless changed.</li>
+ * </ol>
+ * Because every operation is rounded to a bounded precision, long chains of decimal operations keep a bounded cost per step. <br/>
+ * <code>
+ *     try (Precision.Scope scope = Precision.scoped(MathContext.DECIMAL64)) {<br/>
+ *         total = total.add(amount).multiply(rate);<br/>
+ *     }
+ * </code>
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class Precision {
+
+  private static volatile MathContext defaultContext = MathContext.DECIMAL128;
+
+  private static final ThreadLocal<MathContext> SCOPED = new ThreadLocal<>();
+
+  private Precision() {
+  }
+
+  /**
+   * Returns the math context in effect for the current thread.
+   *
+   * @return the scoped context if any, otherwise the default context.
+   */
+  public static MathContext current() {
+    final MathContext ctx = SCOPED.get();
+    return ctx != null ? ctx : defaultContext;
+  }
+
+  /**
+   * Returns the global default math context.
+   *
+   * @return the default context, {@link MathContext#DECIMAL128} unless changed.
+   */
+  public static MathContext getDefault() {
+    return defaultContext;
+  }
+
+  /**
+   * Sets the global default math context used outside of any scope.
+   *
+   * @param ctx
+   *          the new default context, not <code>null</code>.
+   * @throws IllegalArgumentException
+   *           if the context has unlimited precision.
+   */
+  public static void setDefault(MathContext ctx) {
+    defaultContext = checkBounded(ctx);
+  }
+
+  /**
+   * Opens a scope in which the current thread uses the specified context. Scopes can be nested, closing a scope restores the context in effect when
+   * it was opened.
+   *
+   * @param ctx
+   *          the context to use within the scope, not <code>null</code>.
+   * @return the scope to close (preferably with a try-with-resources statement).
+   * @throws IllegalArgumentException
+   *           if the context has unlimited precision.
+   */
+  public static Scope scoped(MathContext ctx) {
+    final Scope scope = new Scope(SCOPED.get());
+    SCOPED.set(checkBounded(ctx));
+    return scope;
+  }
+
+  /**
+   * Evaluates the specified action with the specified context in effect for the current thread.
+   *
+   * @param ctx
+   *          the context to use, not <code>null</code>.
+   * @param action
+   *          the action to evaluate.
+   * @return the result of the action.
+   */
+  public static <T> T with(MathContext ctx, Supplier<T> action) {
+    final Scope scope = scoped(ctx);
+    try {
+      return action.get();
+    } finally {
+      scope.close();
+    }
+  }
+
+  private static MathContext checkBounded(MathContext ctx) {
+    Objects.requireNonNull(ctx);
+    if (ctx.getPrecision() == 0) {
+      throw new IllegalArgumentException("Unlimited precision is not a bounded precision policy");
+    }
+    return ctx;
+  }
+
+  /**
+   * A thread confined precision scope, see {@link Precision#scoped(MathContext)}.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final MathContext previous;
+
+    private Scope(MathContext previous) {
+      this.previous = previous;
+    }
+
+    /**
+     * Restores the context in effect when this scope was opened.
+     */
+    @Override
+    public void close() {
+      if (previous == null) {
+        SCOPED.remove();
+      } else {
+        SCOPED.set(previous);
+      }
+    }
+  }
+}
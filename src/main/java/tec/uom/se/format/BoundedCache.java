@@ -0,0 +1,172 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe cache holding at most a given number of entries, shared by the caches of the unit formats of this package. When the cache is full,
+ * entries are evicted with the <em>clock</em> (second chance) policy: a hand sweeps the entries, evicting those which have not been read since it
+ * last passed them.
+ *
+ * <p>
+ * The cache is cleared whenever the symbols of its format change; a value computed before such a change is not cached, the caller passing the
+ * {@link #generation() generation} read before computing it.
+ * </p>
+ *
+ * @param <K>
+ *          the type of the keys.
+ * @param <V>
+ *          the type of the cached values.
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class BoundedCache<K, V> {
+
+  private final int maxSize;
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * The clock hand, guarded by this cache.
+   */
+  private Iterator<Map.Entry<K, Entry<V>>> hand;
+
+  /**
+   * Incremented on every invalidation, so that a value computed before a change of symbols is not cached.
+   */
+  private volatile int generation;
+
+  /**
+   * The version of the {@link SymbolMap} the cached values were computed with.
+   */
+  private int symbolsVersion;
+
+  BoundedCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns the cached value for the specified key, or <code>null</code> if none.
+   */
+  V get(K key) {
+    final Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (!entry.referenced) { // Avoids writing a shared entry on every hit.
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Returns the current generation, to be read before computing a value and passed to {@link #put(Object, Object, int)}.
+   */
+  int generation() {
+    return generation;
+  }
+
+  /**
+   * Caches the specified value unless the cache has been invalidated since the given generation was read, evicting other entries if the cache is
+   * full.
+   */
+  void put(K key, V value, int generation) {
+    if (value == null || this.generation != generation) {
+      return;
+    }
+    final Entry<V> entry = new Entry<>(value);
+    entries.put(key, entry);
+    if (entries.size() > maxSize) {
+      evict();
+    }
+    if (this.generation != generation) { // Invalidated concurrently.
+      entries.remove(key, entry);
+    }
+  }
+
+  private synchronized void evict() {
+    while (entries.size() > maxSize) {
+      if (hand == null || !hand.hasNext()) {
+        hand = entries.entrySet().iterator();
+        if (!hand.hasNext()) {
+          return;
+        }
+      }
+      final Map.Entry<K, Entry<V>> next = hand.next();
+      final Entry<V> entry = next.getValue();
+      if (entry.referenced) {
+        entry.referenced = false;
+      } else {
+        entries.remove(next.getKey(), entry);
+      }
+    }
+  }
+
+  /**
+   * Invalidates the cache if the specified symbol map has been modified since the values were cached.
+   */
+  void validate(SymbolMap symbols) {
+    int version = symbols.getVersion();
+    if (version != symbolsVersion) {
+      synchronized (this) {
+        if (version != symbolsVersion) {
+          clear();
+          symbolsVersion = version;
+        }
+      }
+    }
+  }
+
+  synchronized void clear() {
+    generation++;
+    entries.clear();
+    hand = null;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+
+    /**
+     * Set when the entry is read, cleared when the clock hand passes it. Races are benign: at worst an entry gets one more or one less chance.
+     */
+    private boolean referenced;
+
+    Entry(V value) {
+      this.value = value;
+    }
+  }
+}
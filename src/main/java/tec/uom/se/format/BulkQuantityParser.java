@@ -0,0 +1,297 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.text.ParsePosition;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.ComparableQuantity;
+
+/**
+ * <p>
+ * Parses batches of quantities such as <code>"12.5 kg"</code> with a {@link QuantityFormat}, in parallel on fork/join for large batches. Rows which
+ * cannot be parsed do not stop the batch, their error is recorded in the {@link Result}.
+ * </p>
+ *
+ * <p>
+ * Results can be read either as quantities, or as a column of <code>double</code> values with a single unit when all rows are stated in the same
+ * unit.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class BulkQuantityParser {
+
+  /**
+   * Batches of at least this size are split over the fork/join pool.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 10;
+
+  private BulkQuantityParser() {
+  }
+
+  /**
+   * Parses the specified rows with the {@link QuantityFormat#getInstance() default} quantity format.
+   *
+   * @param rows
+   *          the text of each quantity.
+   * @return the parsed quantities and errors, by row.
+   */
+  public static Result parse(List<? extends CharSequence> rows) {
+    return parse(rows, QuantityFormat.getInstance());
+  }
+
+  /**
+   * Parses the specified rows with the specified quantity format, which must be safe for concurrent use.
+   *
+   * @param rows
+   *          the text of each quantity.
+   * @param format
+   *          the quantity format.
+   * @return the parsed quantities and errors, by row.
+   */
+  public static Result parse(List<? extends CharSequence> rows, QuantityFormat format) {
+    return parse(rows.size(), rows::get, format);
+  }
+
+  /**
+   * Parses the specified rows with the {@link QuantityFormat#getInstance() default} quantity format.
+   *
+   * @param rows
+   *          the text of each quantity.
+   * @return the parsed quantities and errors, by row.
+   */
+  public static Result parse(String[] rows) {
+    return parse(rows, QuantityFormat.getInstance());
+  }
+
+  /**
+   * Parses the specified rows with the specified quantity format, which must be safe for concurrent use.
+   *
+   * @param rows
+   *          the text of each quantity.
+   * @param format
+   *          the quantity format.
+   * @return the parsed quantities and errors, by row.
+   */
+  public static Result parse(String[] rows, QuantityFormat format) {
+    return parse(rows.length, i -> rows[i], format);
+  }
+
+  private static Result parse(int size, IntFunction<? extends CharSequence> rows, QuantityFormat format) {
+    Objects.requireNonNull(format);
+    final Result result = new Result(size);
+    final ParseTask task = new ParseTask(rows, format, result, 0, size);
+    if (size >= PARALLEL_THRESHOLD && !ForkJoinTask.inForkJoinPool()) {
+      ForkJoinPool.commonPool().invoke(task);
+    } else {
+      task.invoke();
+    }
+    return result;
+  }
+
+  /**
+   * The outcome of a bulk parse, by row.
+   */
+  public static final class Result {
+    private final ComparableQuantity<?>[] quantities;
+    private final RuntimeException[] errors;
+
+    Result(int size) {
+      quantities = new ComparableQuantity<?>[size];
+      errors = new RuntimeException[size];
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public int size() {
+      return quantities.length;
+    }
+
+    /**
+     * Returns the quantity parsed from the specified row, or <code>null</code> if it could not be parsed.
+     */
+    public ComparableQuantity<?> getQuantity(int row) {
+      return quantities[row];
+    }
+
+    /**
+     * Returns a copy of the parsed quantities, with <code>null</code> for the rows which could not be parsed.
+     */
+    public ComparableQuantity<?>[] getQuantities() {
+      return quantities.clone();
+    }
+
+    /**
+     * Returns the error raised while parsing the specified row, or <code>null</code> if the row was parsed.
+     */
+    public RuntimeException getError(int row) {
+      return errors[row];
+    }
+
+    /**
+     * Returns <code>true</code> if the specified row could not be parsed.
+     */
+    public boolean isError(int row) {
+      return errors[row] != null;
+    }
+
+    /**
+     * Returns the number of rows which could not be parsed.
+     */
+    public int getErrorCount() {
+      int count = 0;
+      for (RuntimeException error : errors) {
+        if (error != null) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Returns the unit shared by all parsed rows, or <code>null</code> if the parsed rows are stated in different units (or if no row was parsed).
+     */
+    public Unit<?> getUnit() {
+      Unit<?> unit = null;
+      for (ComparableQuantity<?> quantity : quantities) {
+        if (quantity != null) {
+          if (unit == null) {
+            unit = quantity.getUnit();
+          } else if (!unit.equals(quantity.getUnit())) {
+            return null;
+          }
+        }
+      }
+      return unit;
+    }
+
+    /**
+     * Returns the values of all rows stated in their common {@link #getUnit() unit}, with <code>NaN</code> for the rows which could not be parsed.
+     *
+     * @throws IllegalStateException
+     *           if the rows are not all stated in the same unit.
+     */
+    public double[] getValues() {
+      final Unit<?> unit = getUnit();
+      if (unit == null && getErrorCount() < size()) {
+        throw new IllegalStateException("Rows are stated in different units");
+      }
+      final double[] values = new double[quantities.length];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = quantities[i] == null ? Double.NaN : quantities[i].getValue().doubleValue();
+      }
+      return values;
+    }
+
+    /**
+     * Returns the values of all rows converted to the specified unit, with <code>NaN</code> for the rows which could not be parsed.
+     *
+     * @param unit
+     *          the unit of the values.
+     * @throws javax.measure.UnconvertibleException
+     *           if a row is not compatible with the specified unit.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public double[] getValues(Unit<?> unit) {
+      final double[] values = new double[quantities.length];
+      Unit<?> lastUnit = null;
+      UnitConverter converter = null;
+      for (int i = 0; i < values.length; i++) {
+        final Quantity<?> quantity = quantities[i];
+        if (quantity == null) {
+          values[i] = Double.NaN;
+          continue;
+        }
+        if (quantity.getUnit() != lastUnit) {
+          lastUnit = quantity.getUnit();
+          converter = ((Unit) lastUnit).getConverterTo(unit);
+        }
+        values[i] = converter.convert(quantity.getValue().doubleValue());
+      }
+      return values;
+    }
+
+    @Override
+    public String toString() {
+      return "BulkQuantityParser.Result[size=" + size() + ", errors=" + getErrorCount() + "]";
+    }
+  }
+
+  private static final class ParseTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 3180533465262432436L;
+
+    private final IntFunction<? extends CharSequence> rows;
+    private final QuantityFormat format;
+    private final Result result;
+    private final int from;
+    private final int to;
+
+    ParseTask(IntFunction<? extends CharSequence> rows, QuantityFormat format, Result result, int from, int to) {
+      this.rows = rows;
+      this.format = format;
+      this.result = result;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from < PARALLEL_THRESHOLD) {
+        final ParsePosition position = new ParsePosition(0);
+        for (int i = from; i < to; i++) {
+          position.setIndex(0);
+          position.setErrorIndex(-1);
+          try {
+            final CharSequence row = Objects.requireNonNull(rows.apply(i), "row");
+            result.quantities[i] = format.parse(row, position);
+          } catch (RuntimeException e) {
+            result.errors[i] = e;
+          }
+        }
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new ParseTask(rows, format, result, from, middle), new ParseTask(rows, format, result, middle, to));
+    }
+  }
+}
@@ -58,8 +58,8 @@ class DefaultQuantityFormat extends QuantityFormat {
   public Appendable format(Quantity measure, Appendable dest) throws IOException {
     Unit unit = measure.getUnit();
 
-    dest.append(measure.getValue().toString());
-    if (measure.getUnit().equals(AbstractUnit.ONE))
+    NumberAppender.append(measure.getValue(), dest);
+    if (unit.equals(AbstractUnit.ONE))
       return dest;
     dest.append(' ');
     return SimpleUnitFormat.getInstance().format(unit, dest);
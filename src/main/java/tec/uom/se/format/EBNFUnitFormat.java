@@ -189,6 +189,22 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  /**
+   * The cache of units parsed by this instance.
+   */
+  private final transient UnitParseCache parseCache = new UnitParseCache();
+
+  /**
+   * The cache of units rendered by this instance.
+   */
+  private final transient UnitSymbolCache symbolCache = new UnitSymbolCache();
+
+  /**
+   * Holds the parser of each thread, parsers are reinitialised for every input rather than created (together with their buffers) per call.
+   */
+  private final transient ThreadLocal<UnitFormatParser> parsers = ThreadLocal.withInitial(
+      () -> new UnitFormatParser(getSymbols(), new StringReader("")));
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -222,11 +238,30 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
     return symbolMap;
   }
 
+  /**
+   * Returns the cache of units parsed by this instance, it is invalidated whenever the {@link #getSymbols() symbol map} changes.
+   *
+   * @return the parse cache of this format.
+   */
+  public UnitParseCache getParseCache() {
+    return parseCache;
+  }
+
   // //////////////
   // Formatting //
   // //////////////
   public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+    symbolCache.validate(symbolMap);
+    String symbol = symbolCache.get(unit);
+    if (symbol == null) {
+      int generation = symbolCache.generation();
+      symbol = render(unit, new StringBuilder()).toString();
+      symbolCache.put(unit, symbol, generation);
+    }
+    return appendable.append(symbol);
+  }
 
+  private Appendable render(Unit<?> unit, Appendable appendable) throws IOException {
     EBNFHelper.formatInternal(unit, appendable, symbolMap);
     if (unit instanceof AnnotatedUnit<?>) {
       AnnotatedUnit<?> annotatedUnit = (AnnotatedUnit<?>) unit;
@@ -255,9 +290,19 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
     if (source.length() == 0) {
       return AbstractUnit.ONE;
     }
+    parseCache.validate(symbolMap);
+    Unit<?> cached = parseCache.get(source);
+    if (cached != null) {
+      if (cursor != null)
+        cursor.setIndex(end);
+      return cached;
+    }
+    int generation = parseCache.generation();
     try {
-      UnitFormatParser parser = new UnitFormatParser(symbolMap, new StringReader(source));
+      UnitFormatParser parser = parsers.get();
+      parser.ReInit(new StringReader(source));
       Unit<?> result = parser.parseUnit();
+      parseCache.put(source, result, generation);
       if (cursor != null)
         cursor.setIndex(end);
       return result;
@@ -57,6 +57,7 @@ import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -171,6 +172,11 @@ public class LocalUnitFormat extends AbstractUnitFormat {
    */
   private static final LocalUnitFormat DEFAULT_INSTANCE = new LocalUnitFormat(SymbolMap.of(ResourceBundle.getBundle(LocalUnitFormat.class
       .getPackage().getName() + ".messages")));
+
+  /**
+   * Holds the instances already loaded, by locale.
+   */
+  private static final Map<Locale, LocalUnitFormat> INSTANCES = new ConcurrentHashMap<>();
   /**
    * Multiplicand character
    */
@@ -204,12 +210,33 @@ public class LocalUnitFormat extends AbstractUnitFormat {
   }
 
   /**
-   * Returns an instance for the given locale.
+   * Returns an instance for the given locale. Instances are loaded lazily, once per locale, and shared.
    * 
    * @param locale
    */
   public static LocalUnitFormat getInstance(Locale locale) {
-    return new LocalUnitFormat(SymbolMap.of(ResourceBundle.getBundle(LocalUnitFormat.class.getPackage().getName() + ".messages", locale)));
+    LocalUnitFormat format = INSTANCES.get(locale);
+    if (format == null) { // Loaded outside of the map, a concurrent load of the same locale is discarded.
+      format = new LocalUnitFormat(SymbolMap.of(ResourceBundle.getBundle(LocalUnitFormat.class.getPackage().getName() + ".messages", locale)));
+      LocalUnitFormat previous = INSTANCES.putIfAbsent(locale, format);
+      if (previous != null) {
+        format = previous;
+      }
+    }
+    return format;
+  }
+
+  /**
+   * Loads the instances for the given locales ahead of their first use, so that {@link #getInstance(Locale)} does not have to read resource bundles
+   * later.
+   *
+   * @param locales
+   *          the locales to load.
+   */
+  public static void warmUp(Locale... locales) {
+    for (Locale locale : locales) {
+      getInstance(locale);
+    }
   }
 
   /** Returns an instance for the given symbol map. */
@@ -225,6 +252,25 @@ public class LocalUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  /**
+   * The cache of units parsed by this instance.
+   */
+  private final transient UnitParseCache parseCache = new UnitParseCache();
+
+  /**
+   * The cache of units rendered by this instance.
+   */
+  private final transient UnitSymbolCache symbolCache = new UnitSymbolCache();
+
+  /**
+   * Holds the parser of each thread, parsers are reinitialised for every input rather than created (together with their buffers) per call. The
+   * deprecated {@link LocalUnitFormatParser} is kept because its exception handling still differs from the one of
+   * {@link tec.uom.se.internal.format.UnitFormatParser}.
+   */
+  @SuppressWarnings("deprecation")
+  private final transient ThreadLocal<LocalUnitFormatParser> parsers = ThreadLocal.withInitial(
+      () -> new LocalUnitFormatParser(getSymbols(), new StringReader("")));
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -251,6 +297,15 @@ public class LocalUnitFormat extends AbstractUnitFormat {
     return symbolMap;
   }
 
+  /**
+   * Returns the cache of units parsed by this instance, it is invalidated whenever the {@link #getSymbols() symbol map} changes.
+   *
+   * @return the parse cache of this format.
+   */
+  public UnitParseCache getParseCache() {
+    return parseCache;
+  }
+
   // //////////////
   // Formatting //
   // //////////////
@@ -261,8 +316,16 @@ public class LocalUnitFormat extends AbstractUnitFormat {
       // intrinsic toString()
       // method)
     }
-    formatInternal(unit, appendable);
-    return appendable;
+    symbolCache.validate(symbolMap);
+    String symbol = symbolCache.get(unit);
+    if (symbol == null) {
+      int generation = symbolCache.generation();
+      StringBuilder buffer = new StringBuilder();
+      formatInternal(unit, buffer);
+      symbol = buffer.toString();
+      symbolCache.put(unit, symbol, generation);
+    }
+    return appendable.append(symbol);
   }
 
   public boolean isLocaleSensitive() {
@@ -284,9 +347,18 @@ public class LocalUnitFormat extends AbstractUnitFormat {
     if (source.length() == 0) {
       return AbstractUnit.ONE;
     }
+    parseCache.validate(symbolMap);
+    Unit<?> cached = parseCache.get(source);
+    if (cached != null) {
+      cursor.setIndex(end);
+      return cached;
+    }
+    int generation = parseCache.generation();
     try {
-      LocalUnitFormatParser parser = new LocalUnitFormatParser(symbolMap, new StringReader(source));
+      LocalUnitFormatParser parser = parsers.get();
+      parser.ReInit(new StringReader(source));
       Unit<?> result = parser.parseUnit();
+      parseCache.put(source, result, generation);
       cursor.setIndex(end);
       return result;
     } catch (TokenException e) {
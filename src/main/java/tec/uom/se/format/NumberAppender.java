@@ -0,0 +1,111 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.io.IOException;
+
+/**
+ * Writes numbers to an <code>Appendable</code> without going through <code>java.text.NumberFormat</code>. The output is the same as the
+ * <code>toString()</code> representation of the number, for <code>double</code> and <code>float</code> this is the shortest representation which
+ * round-trips through {@link Double#parseDouble(String)}.
+ *
+ * <p>
+ * When the destination is a <code>StringBuilder</code> primitive values are appended in place, for other destinations integral values are written
+ * digit by digit and floating point values are first written into a per-thread buffer, so that no intermediate <code>String</code> is created.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class NumberAppender {
+
+  /**
+   * The per-thread buffer floating point values are written into before being appended to a destination which is not a <code>StringBuilder</code>.
+   */
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+  private NumberAppender() {
+  }
+
+  /**
+   * Appends the specified number to the specified destination.
+   *
+   * @param number
+   *          the number to append.
+   * @param dest
+   *          the appendable destination.
+   * @return the specified <code>Appendable</code>.
+   * @throws IOException
+   *           if an I/O exception occurs.
+   */
+  static Appendable append(Number number, Appendable dest) throws IOException {
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+      return append(number.longValue(), dest);
+    }
+    if (number instanceof Double || number instanceof Float) {
+      final boolean direct = dest instanceof StringBuilder;
+      final StringBuilder buffer = direct ? (StringBuilder) dest : BUFFER.get();
+      if (!direct) {
+        buffer.setLength(0);
+      }
+      if (number instanceof Double) {
+        buffer.append(number.doubleValue());
+      } else {
+        buffer.append(number.floatValue());
+      }
+      return direct ? dest : dest.append(buffer);
+    }
+    return dest.append(String.valueOf(number));
+  }
+
+  /**
+   * Appends the decimal representation of the specified <code>long</code> to the specified destination.
+   */
+  static Appendable append(long value, Appendable dest) throws IOException {
+    if (dest instanceof StringBuilder) {
+      return ((StringBuilder) dest).append(value);
+    }
+    if (value == Long.MIN_VALUE) {
+      return dest.append(Long.toString(value));
+    }
+    if (value < 0) {
+      dest.append('-');
+      value = -value;
+    }
+    long divisor = 1;
+    while (value / divisor >= 10) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      dest.append((char) ('0' + (value / divisor) % 10));
+    }
+    return dest;
+  }
+}
@@ -30,6 +30,7 @@
 package tec.uom.se.format;
 
 import java.io.IOException;
+import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 
@@ -46,13 +47,59 @@ import tec.uom.se.quantity.Quantities;
 class NumberSpaceQuantityFormat extends QuantityFormat {
   private static final String SEPARATOR = " ";
 
+  /**
+   * The configuration of the number format, it is never used (nor modified) directly since <code>NumberFormat</code> is not thread-safe.
+   */
   private final NumberFormat numberFormat;
 
   private final UnitFormat unitFormat;
 
+  /**
+   * <code>true</code> if the number format writes integral values as their plain decimal representation, these values are then written by
+   * {@link NumberAppender} without going through the number format.
+   */
+  private final boolean plainIntegers;
+
+  /**
+   * Holds the per-thread copies of {@link #numberFormat}.
+   */
+  private transient ThreadLocal<NumberFormat> localNumberFormat;
+
   NumberSpaceQuantityFormat(NumberFormat numberFormat, UnitFormat unitFormat) {
-    this.numberFormat = numberFormat;
+    this.numberFormat = (NumberFormat) numberFormat.clone();
     this.unitFormat = unitFormat;
+    this.plainIntegers = isPlainIntegers(numberFormat);
+  }
+
+  /**
+   * Returns <code>true</code> if the specified format writes integral values as {@link Long#toString(long)} does: without grouping, padding, affixes
+   * or localized digits.
+   */
+  private static boolean isPlainIntegers(NumberFormat numberFormat) {
+    if (!(numberFormat instanceof DecimalFormat)) {
+      return false;
+    }
+    final DecimalFormat format = (DecimalFormat) numberFormat;
+    return !format.isGroupingUsed() && format.getMultiplier() == 1 && format.getMinimumIntegerDigits() <= 1 && format.getMaximumIntegerDigits() >= 19
+        && format.getMinimumFractionDigits() == 0 && !format.isDecimalSeparatorAlwaysShown() && format.getPositivePrefix().isEmpty()
+        && format.getPositiveSuffix().isEmpty() && "-".equals(format.getNegativePrefix()) && format.getNegativeSuffix().isEmpty()
+        && format.getDecimalFormatSymbols().getZeroDigit() == '0';
+  }
+
+  private static boolean isIntegral(Number number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+  }
+
+  /**
+   * Returns the copy of the number format owned by the current thread.
+   */
+  private NumberFormat numberFormat() {
+    ThreadLocal<NumberFormat> local = localNumberFormat;
+    if (local == null) { // Lazily created, also after deserialization.
+      local = ThreadLocal.withInitial(() -> (NumberFormat) numberFormat.clone());
+      localNumberFormat = local;
+    }
+    return local.get();
   }
 
   static int getFractionDigitsCount(double d) {
@@ -79,24 +126,31 @@ class NumberSpaceQuantityFormat extends QuantityFormat {
     // return dest;
     // dest.append(' ');
     // return unitFormat.format(quantity.getUnit(), dest);
-    int fract = 0;
-    if (quantity != null && quantity.getValue() != null) {
-      fract = getFractionDigitsCount(quantity.getValue().doubleValue());
-    }
-    if (fract > 1) {
-      numberFormat.setMaximumFractionDigits(fract + 1);
+    if (plainIntegers && isIntegral(quantity.getValue())) {
+      NumberAppender.append(quantity.getValue().longValue(), dest);
+    } else {
+      appendNumber(quantity.getValue(), dest);
     }
-    dest.append(numberFormat.format(quantity.getValue()));
     if (quantity.getUnit().equals(AbstractUnit.ONE))
       return dest;
     dest.append(SEPARATOR);
     return unitFormat.format(quantity.getUnit(), dest);
   }
 
+  private void appendNumber(Number number, Appendable dest) throws IOException {
+    int fract = 0;
+    if (number != null) {
+      fract = getFractionDigitsCount(number.doubleValue());
+    }
+    final NumberFormat format = numberFormat();
+    format.setMaximumFractionDigits(fract > 1 ? fract + 1 : numberFormat.getMaximumFractionDigits());
+    dest.append(format.format(number));
+  }
+
   @Override
   public ComparableQuantity<?> parse(CharSequence csq, ParsePosition cursor) throws IllegalArgumentException, ParserException {
     final String str = csq.toString();
-    final Number number = numberFormat.parse(str, cursor);
+    final Number number = numberFormat().parse(str, cursor);
     if (number == null)
       throw new IllegalArgumentException("Number cannot be parsed");
     final String[] parts = str.split(SEPARATOR);
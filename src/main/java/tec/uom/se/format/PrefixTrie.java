@@ -0,0 +1,144 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import tec.uom.se.unit.MetricPrefix;
+
+/**
+ * An immutable trie of prefix symbols, it finds the prefixes a unit symbol starts with in a single walk over the characters of the symbol.
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class PrefixTrie {
+
+  static final PrefixTrie EMPTY = new PrefixTrie();
+
+  /**
+   * The edge labels in ascending order.
+   */
+  private char[] chars = new char[0];
+  private PrefixTrie[] children = new PrefixTrie[0];
+
+  /**
+   * The prefix whose symbol ends at this node, or <code>null</code>.
+   */
+  private MetricPrefix prefix;
+
+  private PrefixTrie() {
+  }
+
+  /**
+   * Builds a trie from the specified symbol to prefix mappings.
+   */
+  static PrefixTrie of(Map<String, ?> symbolToPrefix) {
+    final PrefixTrie root = new PrefixTrie();
+    for (Map.Entry<String, ?> entry : symbolToPrefix.entrySet()) {
+      root.insert(entry.getKey(), (MetricPrefix) entry.getValue());
+    }
+    return root;
+  }
+
+  private void insert(String symbol, MetricPrefix value) {
+    PrefixTrie node = this;
+    for (int i = 0; i < symbol.length(); i++) {
+      final char c = symbol.charAt(i);
+      int index = Arrays.binarySearch(node.chars, c);
+      if (index < 0) {
+        index = -index - 1;
+        node.chars = insertAt(node.chars, index, c);
+        final PrefixTrie[] children = new PrefixTrie[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        children[index] = new PrefixTrie();
+        node.children = children;
+      }
+      node = node.children[index];
+    }
+    node.prefix = value;
+  }
+
+  private static char[] insertAt(char[] array, int index, char c) {
+    final char[] result = new char[array.length + 1];
+    System.arraycopy(array, 0, result, 0, index);
+    result[index] = c;
+    System.arraycopy(array, index, result, index + 1, array.length - index);
+    return result;
+  }
+
+  private PrefixTrie child(char c) {
+    final char[] chars = this.chars;
+    if (chars.length == 1) { // Most nodes are leaves or have a single edge.
+      return chars[0] == c ? children[0] : null;
+    }
+    final int index = Arrays.binarySearch(chars, c);
+    return index < 0 ? null : children[index];
+  }
+
+  /**
+   * Returns the length of the longest prefix symbol the specified symbol starts with, or <code>0</code> if none.
+   */
+  int longestMatch(CharSequence symbol) {
+    return longestMatch(symbol, symbol.length());
+  }
+
+  /**
+   * Returns the length of the longest prefix symbol, not longer than <code>maxLength</code>, the specified symbol starts with, or <code>0</code> if
+   * none.
+   */
+  int longestMatch(CharSequence symbol, int maxLength) {
+    int match = 0;
+    PrefixTrie node = this;
+    for (int i = 0; i < maxLength; i++) {
+      node = node.child(symbol.charAt(i));
+      if (node == null) {
+        break;
+      }
+      if (node.prefix != null) {
+        match = i + 1;
+      }
+    }
+    return match;
+  }
+
+  /**
+   * Returns the prefix whose symbol is the first <code>length</code> characters of the specified symbol, or <code>null</code> if none.
+   */
+  MetricPrefix get(CharSequence symbol, int length) {
+    PrefixTrie node = this;
+    for (int i = 0; i < length && node != null; i++) {
+      node = node.child(symbol.charAt(i));
+    }
+    return node == null ? null : node.prefix;
+  }
+}
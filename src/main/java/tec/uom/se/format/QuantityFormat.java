@@ -50,6 +50,10 @@ import tec.uom.se.ComparableQuantity;
  * This class provides the interface for formatting and parsing {@link Quantity quantities}.
  * </p>
  *
+ * <p>
+ * The instances returned by the factory methods of this class are safe for concurrent use, they do not share mutable state between threads.
+ * </p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
  * @version 1.0.1, $Date: 2017-07-10 $
@@ -0,0 +1,506 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+import javax.measure.format.UnitFormat;
+
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * <p>
+ * Reads <code>"value unit"</code> pairs from a {@link Reader}, a {@link CharBuffer} or a UTF-8 encoded {@link ByteBuffer} and emits them to a
+ * {@link Sink} as primitive values and unit identifiers, or as quantities. Pairs are separated by whitespace, <code>','</code> or <code>';'</code>,
+ * for example <code>"1.5 kW·h; 2 m/s\n3e-3 µg/m³"</code>.
+ * </p>
+ *
+ * <p>
+ * The input is scanned one token at a time into a reused buffer; numbers are parsed without intermediate strings and units are parsed once with the
+ * underlying {@link UnitFormat} then resolved from a table of the units already seen by this reader. Unit identifiers are assigned in order of first
+ * appearance starting from <code>0</code>, see {@link #getUnit(int)}.
+ * </p>
+ *
+ * <p>
+ * Values are read as <code>double</code>. Instances hold scanning state and are not thread-safe, use one reader per thread.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class QuantityReader {
+
+  /**
+   * Receives the pairs read.
+   */
+  @FunctionalInterface
+  public interface Sink {
+    /**
+     * Accepts a value stated in the unit with the specified identifier.
+     *
+     * @param value
+     *          the value read.
+     * @param unitId
+     *          the identifier of the unit, see {@link QuantityReader#getUnit(int)}.
+     */
+    void accept(double value, int unitId);
+  }
+
+  static final int BUFFER_SIZE = 8192;
+
+  /**
+   * The powers of ten which are exactly representable as <code>double</code>.
+   */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17,
+      1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  private final UnitFormat unitFormat;
+
+  private final UnitTable units = new UnitTable();
+
+  private char[] token = new char[64];
+  private int tokenLength;
+  private long tokenStart;
+  private long offset;
+  private double pendingValue;
+  private boolean hasPendingValue;
+  private long count;
+
+  private QuantityReader(UnitFormat unitFormat) {
+    this.unitFormat = Objects.requireNonNull(unitFormat);
+  }
+
+  /**
+   * Returns a reader resolving units with the {@link SimpleUnitFormat#getInstance() default} unit format.
+   */
+  public static QuantityReader of() {
+    return of(SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Returns a reader resolving units with the specified unit format.
+   *
+   * @param unitFormat
+   *          the format used to parse units.
+   */
+  public static QuantityReader of(UnitFormat unitFormat) {
+    return new QuantityReader(unitFormat);
+  }
+
+  /**
+   * Returns the unit with the specified identifier.
+   *
+   * @param unitId
+   *          an identifier passed to a {@link Sink}.
+   * @return the corresponding unit.
+   * @throws IndexOutOfBoundsException
+   *           if no unit has this identifier.
+   */
+  public Unit<?> getUnit(int unitId) {
+    return units.get(unitId);
+  }
+
+  /**
+   * Returns the number of distinct units read so far.
+   */
+  public int getUnitCount() {
+    return units.size();
+  }
+
+  /**
+   * Reads all pairs from the specified reader, the reader is not closed.
+   *
+   * @return the number of pairs read.
+   * @throws IOException
+   *           if an I/O exception occurs.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long read(Reader reader, Sink sink) throws IOException {
+    reset();
+    final char[] chunk = new char[BUFFER_SIZE];
+    for (int n; (n = reader.read(chunk)) >= 0;) {
+      for (int i = 0; i < n; i++) {
+        next(chunk[i], sink);
+      }
+    }
+    return finish(sink);
+  }
+
+  /**
+   * Reads all remaining pairs from the specified buffer, the buffer position is moved to its limit.
+   *
+   * @return the number of pairs read.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long read(CharBuffer buffer, Sink sink) {
+    reset();
+    if (buffer.hasArray()) {
+      final char[] array = buffer.array();
+      final int end = buffer.arrayOffset() + buffer.limit();
+      for (int i = buffer.arrayOffset() + buffer.position(); i < end; i++) {
+        next(array[i], sink);
+      }
+      buffer.position(buffer.limit());
+    } else {
+      while (buffer.hasRemaining()) {
+        next(buffer.get(), sink);
+      }
+    }
+    return finish(sink);
+  }
+
+  /**
+   * Reads all remaining pairs from the specified UTF-8 encoded buffer, the buffer position is moved to its limit. Malformed input is replaced with
+   * <code>'�'</code>.
+   *
+   * @return the number of pairs read.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long read(ByteBuffer buffer, Sink sink) {
+    final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    final CharBuffer chunk = CharBuffer.allocate(BUFFER_SIZE);
+    final char[] array = chunk.array();
+    reset();
+    for (boolean endOfInput = false;;) {
+      CoderResult result = endOfInput ? decoder.flush(chunk) : decoder.decode(buffer, chunk, true);
+      for (int i = 0, n = chunk.position(); i < n; i++) {
+        next(array[i], sink);
+      }
+      chunk.clear();
+      if (result.isUnderflow()) {
+        if (endOfInput) {
+          break;
+        }
+        endOfInput = true;
+      }
+    }
+    return finish(sink);
+  }
+
+  /**
+   * Reads all pairs from the specified reader as quantities, the reader is not closed.
+   *
+   * @return the number of quantities read.
+   * @throws IOException
+   *           if an I/O exception occurs.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long readQuantities(Reader reader, Consumer<? super ComparableQuantity<?>> consumer) throws IOException {
+    return read(reader, toQuantities(consumer));
+  }
+
+  /**
+   * Reads all remaining pairs from the specified buffer as quantities.
+   *
+   * @return the number of quantities read.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long readQuantities(CharBuffer buffer, Consumer<? super ComparableQuantity<?>> consumer) {
+    return read(buffer, toQuantities(consumer));
+  }
+
+  /**
+   * Reads all remaining pairs from the specified UTF-8 encoded buffer as quantities.
+   *
+   * @return the number of quantities read.
+   * @throws ParserException
+   *           if the input is not a sequence of <code>"value unit"</code> pairs.
+   */
+  public long readQuantities(ByteBuffer buffer, Consumer<? super ComparableQuantity<?>> consumer) {
+    return read(buffer, toQuantities(consumer));
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Sink toQuantities(Consumer<? super ComparableQuantity<?>> consumer) {
+    Objects.requireNonNull(consumer);
+    return (value, unitId) -> {
+      final ComparableQuantity<?> quantity = Quantities.getQuantity(value, (Unit) units.get(unitId));
+      consumer.accept(quantity);
+    };
+  }
+
+  private void reset() {
+    tokenLength = 0;
+    offset = 0;
+    hasPendingValue = false;
+    count = 0;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ';' || Character.isWhitespace(c);
+  }
+
+  private void next(char c, Sink sink) {
+    if (isSeparator(c)) {
+      if (tokenLength > 0) {
+        endToken(sink);
+      }
+    } else {
+      if (tokenLength == 0) {
+        tokenStart = offset;
+      } else if (tokenLength == token.length) {
+        token = Arrays.copyOf(token, tokenLength * 2);
+      }
+      token[tokenLength++] = c;
+    }
+    offset++;
+  }
+
+  private void endToken(Sink sink) {
+    if (hasPendingValue) {
+      int unitId = units.idOf(token, tokenLength);
+      if (unitId < 0) {
+        unitId = units.add(token, tokenLength, parseUnit());
+      }
+      hasPendingValue = false;
+      count++;
+      sink.accept(pendingValue, unitId);
+    } else {
+      pendingValue = parseNumber();
+      hasPendingValue = true;
+    }
+    tokenLength = 0;
+  }
+
+  private long finish(Sink sink) {
+    if (tokenLength > 0) {
+      endToken(sink);
+    }
+    if (hasPendingValue) {
+      throw error("Missing unit after value");
+    }
+    return count;
+  }
+
+  private Unit<?> parseUnit() {
+    final String symbol = new String(token, 0, tokenLength);
+    try {
+      return unitFormat.parse(symbol);
+    } catch (ParserException e) {
+      throw new ParserException("Cannot parse unit '" + symbol + "' at offset " + tokenStart, symbol, (int) Math.min(tokenStart, Integer.MAX_VALUE));
+    } catch (RuntimeException e) {
+      throw new ParserException("Cannot parse unit '" + symbol + "' at offset " + tokenStart + ": " + e.getMessage(), symbol, (int) Math.min(
+          tokenStart, Integer.MAX_VALUE));
+    }
+  }
+
+  /**
+   * Parses the current token as a decimal number, values with at most 15 significant digits and small exponents are computed exactly, others fall
+   * back to {@link Double#parseDouble(String)}.
+   */
+  private double parseNumber() {
+    final char[] t = token;
+    final int n = tokenLength;
+    int i = 0;
+    boolean negative = false;
+    if (t[0] == '-' || t[0] == '+') {
+      negative = t[0] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0; // power of ten applied to the mantissa
+    boolean seenDigit = false;
+    boolean seenPoint = false;
+    for (; i < n; i++) {
+      final char c = t[i];
+      if (c >= '0' && c <= '9') {
+        seenDigit = true;
+        if (mantissa == 0 && c == '0') {
+          if (seenPoint) {
+            scale--;
+          }
+        } else if (digits < 18) {
+          mantissa = mantissa * 10 + (c - '0');
+          digits++;
+          if (seenPoint) {
+            scale--;
+          }
+        } else {
+          digits++;
+          if (!seenPoint) {
+            scale++;
+          }
+        }
+      } else if (c == '.' && !seenPoint) {
+        seenPoint = true;
+      } else {
+        break;
+      }
+    }
+    if (!seenDigit) {
+      throw error("Invalid number");
+    }
+    if (i < n) {
+      final char c = t[i];
+      if (c != 'e' && c != 'E' || ++i == n) {
+        throw error("Invalid number");
+      }
+      boolean negativeExponent = false;
+      if (t[i] == '-' || t[i] == '+') {
+        negativeExponent = t[i] == '-';
+        if (++i == n) {
+          throw error("Invalid number");
+        }
+      }
+      int exponent = 0;
+      for (; i < n; i++) {
+        final char d = t[i];
+        if (d < '0' || d > '9') {
+          throw error("Invalid number");
+        }
+        if (exponent < 100_000) {
+          exponent = exponent * 10 + (d - '0');
+        }
+      }
+      scale += negativeExponent ? -exponent : exponent;
+    }
+    double value;
+    if (mantissa == 0) {
+      value = 0;
+    } else if (digits <= 15 && scale >= -22 && scale <= 22) {
+      // Both operands are exact, so the result is correctly rounded.
+      value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+    } else {
+      return Double.parseDouble(new String(t, 0, n));
+    }
+    return negative ? -value : value;
+  }
+
+  private ParserException error(String message) {
+    final String text = new String(token, 0, tokenLength);
+    return new ParserException(message + " '" + text + "' at offset " + tokenStart, text, (int) Math.min(tokenStart, Integer.MAX_VALUE));
+  }
+
+  /**
+   * An open-addressing table from unit symbols to identifiers, looked up directly from the token buffer.
+   */
+  private static final class UnitTable {
+    private char[][] keys = new char[16][];
+    private int[] ids = new int[16];
+    private Unit<?>[] units = new Unit<?>[8];
+    private int size;
+
+    int size() {
+      return size;
+    }
+
+    Unit<?> get(int id) {
+      if (id < 0 || id >= size) {
+        throw new IndexOutOfBoundsException("Unknown unit id: " + id);
+      }
+      return units[id];
+    }
+
+    private static int hash(char[] chars, int length) {
+      int h = 0;
+      for (int i = 0; i < length; i++) {
+        h = 31 * h + chars[i];
+      }
+      return h ^ (h >>> 16);
+    }
+
+    int idOf(char[] chars, int length) {
+      final int mask = keys.length - 1;
+      for (int slot = hash(chars, length) & mask;; slot = (slot + 1) & mask) {
+        final char[] key = keys[slot];
+        if (key == null) {
+          return -1;
+        }
+        if (key.length == length && equals(key, chars, length)) {
+          return ids[slot];
+        }
+      }
+    }
+
+    private static boolean equals(char[] key, char[] chars, int length) {
+      for (int i = 0; i < length; i++) {
+        if (key[i] != chars[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    int add(char[] chars, int length, Unit<?> unit) {
+      if (size == units.length) {
+        units = Arrays.copyOf(units, size * 2);
+      }
+      if ((size + 1) * 2 > keys.length) {
+        rehash(keys.length * 2);
+      }
+      final int id = size++;
+      units[id] = unit;
+      insert(Arrays.copyOf(chars, length), id);
+      return id;
+    }
+
+    private void insert(char[] key, int id) {
+      final int mask = keys.length - 1;
+      int slot = hash(key, key.length) & mask;
+      while (keys[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      ids[slot] = id;
+    }
+
+    private void rehash(int capacity) {
+      final char[][] oldKeys = keys;
+      final int[] oldIds = ids;
+      keys = new char[capacity][];
+      ids = new int[capacity];
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != null) {
+          insert(oldKeys[i], oldIds[i]);
+        }
+      }
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.text.FieldPosition;
 import java.text.ParsePosition;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import tec.uom.se.AbstractUnit;
 import tec.uom.se.function.AddConverter;
@@ -294,16 +295,50 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     /**
      * Holds the name to unit mapping.
      */
-    final HashMap<String, Unit<?>> _nameToUnit = new HashMap<>();
+    final ConcurrentHashMap<String, Unit<?>> _nameToUnit = new ConcurrentHashMap<>();
 
     /**
      * Holds the unit to name mapping.
      */
-    final HashMap<Unit<?>, String> _unitToName = new HashMap<>();
+    final ConcurrentHashMap<Unit<?>, String> _unitToName = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the units parsed by this format.
+     */
+    private final UnitParseCache parseCache = new UnitParseCache();
+
+    /**
+     * Holds the strings rendered by this format.
+     */
+    private final UnitSymbolCache symbolCache = new UnitSymbolCache();
 
     protected DefaultFormat() {
     }
 
+    /**
+     * Returns the cache of units parsed by this format, it is cleared whenever a label or an alias is attached.
+     *
+     * @return the parse cache of this format.
+     */
+    public UnitParseCache getParseCache() {
+      return parseCache;
+    }
+
+    /**
+     * Invalidates the parsed units depending on the mappings of this format.
+     */
+    private void invalidate() {
+      clearCaches();
+      if (this == DEFAULT && ASCII != null) { // The ASCII format falls back to the default mappings.
+        ASCII.clearCaches();
+      }
+    }
+
+    void clearCaches() {
+      parseCache.clear();
+      symbolCache.clear();
+    }
+
     @Override
     public void label(Unit<?> unit, String label) {
       if (!isValidIdentifier(label))
@@ -311,6 +346,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       synchronized (this) {
         _nameToUnit.put(label, unit);
         _unitToName.put(unit, label);
+        invalidate();
       }
     }
 
@@ -320,6 +356,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         throw new IllegalArgumentException("Alias: " + alias + " is not a valid identifier.");
       synchronized (this) {
         _nameToUnit.put(alias, unit);
+        invalidate();
       }
     }
 
@@ -354,9 +391,12 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         TransformedUnit<?> tfmUnit = (TransformedUnit<?>) unit;
         Unit<?> baseUnit = tfmUnit.getParentUnit();
         UnitConverter cvtr = tfmUnit.getConverter(); // tfmUnit.getSystemConverter();
-        StringBuilder result = new StringBuilder();
         String baseUnitName = baseUnit.toString();
         String prefix = prefixFor(cvtr);
+        StringBuilder result = new StringBuilder(baseUnitName.length() + 8);
+        if (prefix != null) {
+          result.append(prefix);
+        }
         if ((baseUnitName.indexOf('\u00b7') >= 0) || (baseUnitName.indexOf('*') >= 0) || (baseUnitName.indexOf('/') >= 0)) {
           // We could use parentheses whenever baseUnits is an
           // instanceof ProductUnit, but most ProductUnits have
@@ -368,9 +408,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         } else {
           result.append(baseUnitName);
         }
-        if (prefix != null) {
-          result.insert(0, prefix);
-        } else {
+        if (prefix == null) {
           if (cvtr instanceof AddConverter) {
             result.append('+');
             result.append(((AddConverter) cvtr).getOffset());
@@ -403,14 +441,9 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       return null; // Product unit.
     }
 
-    // Returns the prefix for the specified unit converter.
+    // Returns the prefix for the specified unit converter, or null if it is not the converter of a prefix (callers then format the converter).
     protected String prefixFor(UnitConverter converter) {
-      for (int i = 0; i < CONVERTERS.length; i++) {
-        if (CONVERTERS[i].equals(converter)) {
-          return PREFIXES[i];
-        }
-      }
-      return null; // TODO or return blank?
+      return CONVERTER_TO_PREFIX.get(converter);
     }
 
     // Returns the unit for the specified name.
@@ -686,6 +719,17 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     @Override
     public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+      String symbol = symbolCache.get(unit);
+      if (symbol == null) {
+        int generation = symbolCache.generation();
+        symbol = render(unit, new StringBuilder()).toString();
+        symbolCache.put(unit, symbol, generation);
+      }
+      return appendable.append(symbol);
+    }
+
+    // Renders the specified unit, the result is cached by format(Unit, Appendable).
+    Appendable render(Unit<?> unit, Appendable appendable) throws IOException {
       String name = nameFor(unit);
       if (name != null) {
         return appendable.append(name);
@@ -755,10 +799,10 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         } else {
           // Use general exponent form.
           appendable.append('^');
-          appendable.append(String.valueOf(pow));
+          NumberAppender.append(pow, appendable);
           if (root != 1) {
             appendable.append(':');
-            appendable.append(String.valueOf(root));
+            NumberAppender.append(root, appendable);
           }
         }
       }
@@ -770,7 +814,14 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     public Unit<?> parse(CharSequence csq) throws ParserException {
       // This implementation MUST always return an AbstractUnit<?>, or else
       // FinalDefaultInstance#parse(CharSequence) must be updated!
-      return parse(csq, 0);
+      String source = csq.toString();
+      Unit<?> unit = parseCache.get(source);
+      if (unit == null) {
+        int generation = parseCache.generation();
+        unit = parse(source, 0);
+        parseCache.put(source, unit, generation);
+      }
+      return unit;
     }
 
     @Override
@@ -830,7 +881,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     }
 
     @Override
-    public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+    Appendable render(Unit<?> unit, Appendable appendable) throws IOException {
       String name = nameFor(unit);
       if (name != null)
         return appendable.append(name);
@@ -849,10 +900,10 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         if ((pow != 1) || (root != 1)) {
           // Use general exponent form.
           appendable.append('^');
-          appendable.append(String.valueOf(pow));
+          NumberAppender.append(pow, appendable);
           if (root != 1) {
             appendable.append(':');
-            appendable.append(String.valueOf(root));
+            NumberAppender.append(root, appendable);
           }
         }
       }
@@ -896,6 +947,18 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       DECI.getConverter(), CENTI.getConverter(), MILLI.getConverter(), MICRO.getConverter(), NANO.getConverter(), PICO.getConverter(),
       FEMTO.getConverter(), ATTO.getConverter(), ZEPTO.getConverter(), YOCTO.getConverter() };
 
+  /**
+   * Holds the prefix symbols by converter, the prefix converters only equal converters of their own class so that lookups match a linear search of
+   * {@link #CONVERTERS}.
+   */
+  private static final Map<UnitConverter, String> CONVERTER_TO_PREFIX = new HashMap<>();
+
+  static {
+    for (int i = CONVERTERS.length - 1; i >= 0; i--) { // First match wins.
+      CONVERTER_TO_PREFIX.put(CONVERTERS[i], PREFIXES[i]);
+    }
+  }
+
   private static final String MU = "\u03bc";
 
   private static String asciiPrefix(String prefix) {
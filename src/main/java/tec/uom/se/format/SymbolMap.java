@@ -38,16 +38,13 @@ import javax.measure.UnitConverter;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -64,6 +61,10 @@ import java.util.stream.Collectors;
  * whereas labels map in both directions. A given unit may have any number of aliases, but may have only one label.
  * </p>
  *
+ * <p>
+ * Symbol maps are safe for use by multiple threads, lookups are not blocked by concurrent modifications.
+ * </p>
+ *
  * @author <a href="mailto:eric-r@northwestern.edu">Eric Russell</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
  * @version 1.7, February 25, 2017
@@ -78,15 +79,25 @@ public final class SymbolMap {
   private final Map<Object, String> prefixToSymbol;
   private final Map<UnitConverter, MetricPrefix> converterToPrefix;
 
+  /**
+   * Incremented on every modification, so that caches derived from this map can detect changes.
+   */
+  private volatile int version;
+
+  /**
+   * The trie of the prefix symbols, rebuilt whenever a prefix is labeled.
+   */
+  private volatile PrefixTrie prefixes = PrefixTrie.EMPTY;
+
   /**
    * Creates an empty mapping.
    */
   private SymbolMap() {
-    symbolToUnit = new TreeMap<>();
-    unitToSymbol = new HashMap<>();
-    symbolToPrefix = new TreeMap<>();
-    prefixToSymbol = new HashMap<>();
-    converterToPrefix = new HashMap<>();
+    symbolToUnit = new ConcurrentSkipListMap<>();
+    unitToSymbol = new ConcurrentHashMap<>();
+    symbolToPrefix = new ConcurrentSkipListMap<>();
+    prefixToSymbol = new ConcurrentHashMap<>();
+    converterToPrefix = new ConcurrentHashMap<>();
   }
 
   /**
@@ -155,6 +166,7 @@ public final class SymbolMap {
   public void label(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
     unitToSymbol.put(unit, symbol);
+    version++;
   }
 
   /**
@@ -169,6 +181,7 @@ public final class SymbolMap {
    */
   public void alias(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
+    version++;
   }
 
   /**
@@ -177,9 +190,20 @@ public final class SymbolMap {
    * </code>
    */
   public void label(MetricPrefix prefix, String symbol) {
-    symbolToPrefix.put(symbol, prefix);
-    prefixToSymbol.put(prefix, symbol);
-    converterToPrefix.put(prefix.getConverter(), prefix);
+    synchronized (symbolToPrefix) {
+      symbolToPrefix.put(symbol, prefix);
+      prefixToSymbol.put(prefix, symbol);
+      converterToPrefix.put(prefix.getConverter(), prefix);
+      prefixes = PrefixTrie.of(symbolToPrefix);
+    }
+    version++;
+  }
+
+  /**
+   * Returns the modification count of this map.
+   */
+  int getVersion() {
+    return version;
   }
 
   /**
@@ -212,17 +236,33 @@ public final class SymbolMap {
    * @return the corresponding prefix or <code>null</code> if none.
    */
   public MetricPrefix getPrefix(String symbol) {
-	final List<String> list = symbolToPrefix.keySet().stream().collect(Collectors.toList());
-	final Comparator<String> comparator = Comparator.comparing(String::length);
-	list.sort(comparator.reversed());
+    final PrefixTrie trie = prefixes;
+    final int length = trie.longestMatch(symbol);
+    return length == 0 ? null : trie.get(symbol, length);
+  }
 
-	for (String key : list) {
-	    if (symbol.startsWith(key)) {
-		return (MetricPrefix) symbolToPrefix.get(key);
-	    }
-	}
-	return null;
+  /**
+   * Returns the unit for the specified symbol, which is either the symbol of a unit or the symbol of a prefix followed by the symbol of a unit (e.g.
+   * <code>"mm"</code>, <code>"µs"</code> or <code>"daN"</code>). When several prefixes match, the longest one followed by a known unit is used.
+   *
+   * @param symbol
+   *          the symbol, possibly prefixed.
+   * @return the corresponding (prefixed) unit or <code>null</code> if none.
+   */
+  public Unit<?> getPrefixedUnit(String symbol) {
+    final Unit<?> unit = symbolToUnit.get(symbol);
+    if (unit != null) {
+      return unit;
     }
+    final PrefixTrie trie = prefixes;
+    for (int length = trie.longestMatch(symbol); length > 0; length = trie.longestMatch(symbol, length - 1)) {
+      final Unit<?> prefixed = symbolToUnit.get(symbol.substring(length));
+      if (prefixed != null) {
+        return prefixed.transform(trie.get(symbol, length).getConverter());
+      }
+    }
+    return null;
+  }
 
   /**
    * Returns the prefix for the specified converter.
@@ -0,0 +1,145 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.measure.Unit;
+
+/**
+ * A thread-safe, size-bounded cache of parsed units keyed by their source string, shared by the unit formats of this package. The cache holds at most
+ * {@link #MAX_SIZE} entries, the entries not read recently being evicted first (see {@link BoundedCache}), and is cleared whenever the symbols of its
+ * format change.
+ *
+ * <p>
+ * Hit and miss counters are kept so that the effectiveness of the cache can be monitored.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class UnitParseCache {
+
+  /**
+   * The maximum number of cached entries.
+   */
+  static final int MAX_SIZE = 1024;
+
+  private final BoundedCache<String, Unit<?>> units = new BoundedCache<>(MAX_SIZE);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  UnitParseCache() {
+  }
+
+  /**
+   * Returns the cached unit for the specified source and records a hit or a miss.
+   */
+  Unit<?> get(String source) {
+    Unit<?> unit = units.get(source);
+    if (unit != null) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return unit;
+  }
+
+  /**
+   * Returns the current generation, to be read before parsing and passed to {@link #put(String, Unit, int)}.
+   */
+  int generation() {
+    return units.generation();
+  }
+
+  /**
+   * Caches the specified unit unless the cache has been invalidated since the given generation was read.
+   */
+  void put(String source, Unit<?> unit, int generation) {
+    units.put(source, unit, generation);
+  }
+
+  /**
+   * Invalidates the cache if the specified symbol map has been modified since the entries were cached.
+   */
+  void validate(SymbolMap symbols) {
+    units.validate(symbols);
+  }
+
+  /**
+   * Removes all cached entries, the hit and miss counters are left unchanged.
+   */
+  public void clear() {
+    units.clear();
+  }
+
+  /**
+   * Returns the number of cached entries.
+   */
+  public int size() {
+    return units.size();
+  }
+
+  /**
+   * Returns the number of lookups which found a cached unit.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached unit.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the ratio of hits to lookups, or <code>0</code> if there has been no lookup.
+   */
+  public double getHitRate() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * Resets the hit and miss counters.
+   */
+  public void resetStatistics() {
+    hits.reset();
+    misses.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "UnitParseCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.Objects;
+
+import javax.measure.Unit;
+
+import tec.uom.se.AbstractUnit;
+import tec.uom.se.unit.AnnotatedUnit;
+import tec.uom.se.unit.ProductUnit;
+import tec.uom.se.unit.TransformedUnit;
+
+/**
+ * A thread-safe, size-bounded cache of the strings rendered by a unit format, it holds at most {@link #MAX_SIZE} units, the units not rendered
+ * recently being evicted first (see {@link BoundedCache}), and is cleared whenever the symbols of its format change.
+ *
+ * <p>
+ * Units are looked up by their structure rather than by {@link Object#equals(Object) equality}: product units with the same elements in a different
+ * order are equal but are not rendered the same. Only {@link AbstractUnit} instances are cached.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class UnitSymbolCache {
+
+  /**
+   * The maximum number of cached units.
+   */
+  static final int MAX_SIZE = 1024;
+
+  private final BoundedCache<Key, String> symbols = new BoundedCache<>(MAX_SIZE);
+
+  /**
+   * Returns the cached rendering of the specified unit, or <code>null</code> if none.
+   */
+  String get(Unit<?> unit) {
+    return unit instanceof AbstractUnit ? symbols.get(new Key(unit)) : null;
+  }
+
+  /**
+   * Returns the current generation, to be read before rendering and passed to {@link #put(Unit, String, int)}.
+   */
+  int generation() {
+    return symbols.generation();
+  }
+
+  /**
+   * Caches the rendering of the specified unit unless the cache has been invalidated since the given generation was read.
+   */
+  void put(Unit<?> unit, String symbol, int generation) {
+    if (unit instanceof AbstractUnit) {
+      symbols.put(new Key(unit), symbol, generation);
+    }
+  }
+
+  /**
+   * Invalidates the cache if the specified symbol map has been modified since the strings were cached.
+   */
+  void validate(SymbolMap symbolMap) {
+    symbols.validate(symbolMap);
+  }
+
+  void clear() {
+    symbols.clear();
+  }
+
+  int size() {
+    return symbols.size();
+  }
+
+  /**
+   * Returns <code>true</code> if the specified units are rendered the same by a given format.
+   */
+  static boolean sameStructure(Unit<?> a, Unit<?> b) {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null || a.getClass() != b.getClass()) {
+      return false;
+    }
+    if (a instanceof ProductUnit) {
+      final ProductUnit<?> p = (ProductUnit<?>) a;
+      final ProductUnit<?> q = (ProductUnit<?>) b;
+      if (p.getUnitCount() != q.getUnitCount()) {
+        return false;
+      }
+      for (int i = 0; i < p.getUnitCount(); i++) {
+        if (p.getUnitPow(i) != q.getUnitPow(i) || p.getUnitRoot(i) != q.getUnitRoot(i) || !sameStructure(p.getUnit(i), q.getUnit(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (a instanceof TransformedUnit) {
+      final TransformedUnit<?> t = (TransformedUnit<?>) a;
+      final TransformedUnit<?> u = (TransformedUnit<?>) b;
+      return Objects.equals(t.getSymbol(), u.getSymbol()) && t.getConverter().equals(u.getConverter())
+          && sameStructure(t.getParentUnit(), u.getParentUnit());
+    }
+    if (a instanceof AnnotatedUnit) {
+      final AnnotatedUnit<?> t = (AnnotatedUnit<?>) a;
+      final AnnotatedUnit<?> u = (AnnotatedUnit<?>) b;
+      return Objects.equals(t.getAnnotation(), u.getAnnotation()) && sameStructure(t.getActualUnit(), u.getActualUnit());
+    }
+    return a.equals(b);
+  }
+
+  /**
+   * Wraps a unit so that it is compared by structure.
+   */
+  private static final class Key {
+    private final Unit<?> unit;
+    private final int hash;
+
+    Key(Unit<?> unit) {
+      this.unit = unit;
+      this.hash = unit.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && sameStructure(unit, ((Key) obj).unit);
+    }
+  }
+}
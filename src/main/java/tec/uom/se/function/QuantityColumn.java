@@ -0,0 +1,329 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * A column of quantities sharing a unit, stored as primitive values in a <code>double[]</code> or a {@link DoubleBuffer}. Its spliterators split the
+ * values evenly, and its reducers run on the primitive values, in parallel, without creating a {@link Quantity} per element: the results are returned
+ * as {@link QuantitySummaryStatistics} and {@link QuantityMoments}.
+ * <p>
+ * The column is a view of the values it is created from, which must not be modified while they are processed.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class QuantityColumn<Q extends Quantity<Q>> {
+
+  private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE
+      | Spliterator.NONNULL;
+
+  private final DoubleBuffer values;
+
+  private final Unit<Q> unit;
+
+  private QuantityColumn(DoubleBuffer values, Unit<Q> unit) {
+    this.values = values;
+    this.unit = Objects.requireNonNull(unit);
+  }
+
+  /**
+   * Returns a column of the specified values.
+   *
+   * @param values
+   *          the values, not null.
+   * @param unit
+   *          the unit of the values, not null.
+   * @return the column of quantities
+   */
+  public static <Q extends Quantity<Q>> QuantityColumn<Q> of(double[] values, Unit<Q> unit) {
+    return new QuantityColumn<>(DoubleBuffer.wrap(values), unit);
+  }
+
+  /**
+   * Returns a column of the values remaining in the specified buffer, from its position to its limit.
+   *
+   * @param values
+   *          the values, not null. The position and limit of the buffer are not modified.
+   * @param unit
+   *          the unit of the values, not null.
+   * @return the column of quantities
+   */
+  public static <Q extends Quantity<Q>> QuantityColumn<Q> of(DoubleBuffer values, Unit<Q> unit) {
+    return new QuantityColumn<>(values.slice(), unit);
+  }
+
+  /**
+   * Returns the number of quantities of this column.
+   *
+   * @return the size of this column
+   */
+  public int size() {
+    return values.limit();
+  }
+
+  /**
+   * Returns the unit of the quantities of this column.
+   *
+   * @return the unit of this column
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the quantity at the specified position.
+   *
+   * @param index
+   *          the position of the quantity.
+   * @return the quantity at this position
+   * @throws IndexOutOfBoundsException
+   *           if the index is negative or not smaller than the size.
+   */
+  public Quantity<Q> get(int index) {
+    return Quantities.getQuantity(values.get(index), unit);
+  }
+
+  /**
+   * Returns a spliterator over the values of this column, stated in its unit, which splits them in halves.
+   *
+   * @return the spliterator of the values
+   */
+  public Spliterator.OfDouble valueSpliterator() {
+    return new ValueSpliterator(values, 0, size());
+  }
+
+  /**
+   * Returns a spliterator over the quantities of this column, which splits them in halves. Quantities are only created as they are traversed.
+   *
+   * @return the spliterator of the quantities
+   */
+  public Spliterator<Quantity<Q>> spliterator() {
+    return new QuantitySpliterator<>(new ValueSpliterator(values, 0, size()), unit);
+  }
+
+  /**
+   * Returns a stream of the values of this column, stated in its unit.
+   *
+   * @param parallel
+   *          whether the stream is parallel.
+   * @return the stream of values
+   */
+  public DoubleStream values(boolean parallel) {
+    return StreamSupport.doubleStream(valueSpliterator(), parallel);
+  }
+
+  /**
+   * Returns a stream of the quantities of this column.
+   *
+   * @param parallel
+   *          whether the stream is parallel.
+   * @return the stream of quantities
+   */
+  public Stream<Quantity<Q>> stream(boolean parallel) {
+    return StreamSupport.stream(spliterator(), parallel);
+  }
+
+  /**
+   * Summarizes the quantities of this column in its unit, see {@link #summarize(Unit)}.
+   *
+   * @return the summary of the quantities
+   */
+  public QuantitySummaryStatistics<Q> summarize() {
+    return summarize(unit);
+  }
+
+  /**
+   * Summarizes the quantities of this column (count, min, max, sum and average) in parallel, on the primitive values.
+   *
+   * @param unit
+   *          the target unit of the summary, not null.
+   * @return the summary of the quantities
+   */
+  public QuantitySummaryStatistics<Q> summarize(Unit<Q> unit) {
+    return valuesIn(unit).collect(() -> new QuantitySummaryStatistics<>(unit), QuantitySummaryStatistics::accept,
+        QuantitySummaryStatistics::combine);
+  }
+
+  /**
+   * Computes the moments of the quantities of this column in its unit, see {@link #moments(Unit)}.
+   *
+   * @return the moments of the quantities
+   */
+  public QuantityMoments<Q> moments() {
+    return moments(unit);
+  }
+
+  /**
+   * Computes the moments of the quantities of this column (mean, variance, standard deviation, skewness and kurtosis) in parallel, on the primitive
+   * values.
+   *
+   * @param unit
+   *          the target unit of the moments, not null.
+   * @return the moments of the quantities
+   */
+  public QuantityMoments<Q> moments(Unit<Q> unit) {
+    final Unit<?> squaredUnit = unit.pow(2);
+    return valuesIn(unit).collect(() -> new QuantityMoments<>(unit, squaredUnit), QuantityMoments::accept, QuantityMoments::combine);
+  }
+
+  /**
+   * Returns a parallel stream of the values converted to the specified unit, with a single converter.
+   */
+  private DoubleStream valuesIn(Unit<Q> target) {
+    final UnitConverter converter = unit.getConverterTo(Objects.requireNonNull(target));
+    final DoubleStream stream = values(true);
+    return converter.isIdentity() ? stream : stream.map(converter::convert);
+  }
+
+  @Override
+  public String toString() {
+    return "[unit: " + unit + ",size:" + size() + "]";
+  }
+
+  /**
+   * Traverses the values from <code>index</code> (inclusive) to <code>fence</code> (exclusive), with absolute reads that leave the buffer unchanged.
+   */
+  private static final class ValueSpliterator implements Spliterator.OfDouble {
+
+    private final DoubleBuffer values;
+
+    private int index;
+
+    private final int fence;
+
+    ValueSpliterator(DoubleBuffer values, int index, int fence) {
+      this.values = values;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public OfDouble trySplit() {
+      final int middle = (index + fence) >>> 1;
+      if (middle <= index) {
+        return null;
+      }
+      final ValueSpliterator prefix = new ValueSpliterator(values, index, middle);
+      index = middle;
+      return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+      Objects.requireNonNull(action);
+      if (index < fence) {
+        action.accept(values.get(index++));
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      Objects.requireNonNull(action);
+      final int end = fence;
+      for (int i = index; i < end; i++) {
+        action.accept(values.get(i));
+      }
+      index = end;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+  }
+
+  /**
+   * Creates the quantities of a value spliterator as they are traversed.
+   */
+  private static final class QuantitySpliterator<Q extends Quantity<Q>> implements Spliterator<Quantity<Q>> {
+
+    private final Spliterator.OfDouble values;
+
+    private final Unit<Q> unit;
+
+    QuantitySpliterator(Spliterator.OfDouble values, Unit<Q> unit) {
+      this.values = values;
+      this.unit = unit;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Quantity<Q>> action) {
+      Objects.requireNonNull(action);
+      return values.tryAdvance((double value) -> action.accept(Quantities.getQuantity(value, unit)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Quantity<Q>> action) {
+      Objects.requireNonNull(action);
+      values.forEachRemaining((double value) -> action.accept(Quantities.getQuantity(value, unit)));
+    }
+
+    @Override
+    public Spliterator<Quantity<Q>> trySplit() {
+      final Spliterator.OfDouble prefix = values.trySplit();
+      return (prefix == null) ? null : new QuantitySpliterator<>(prefix, unit);
+    }
+
+    @Override
+    public long estimateSize() {
+      return values.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+  }
+}
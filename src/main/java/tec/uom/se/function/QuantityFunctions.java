@@ -30,13 +30,21 @@
 package tec.uom.se.function;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
@@ -184,40 +192,26 @@ public final class QuantityFunctions {
   }
 
   /**
-   * Creates a BinaryOperator to calculate the minimum Quantity
+   * Creates a BinaryOperator to calculate the minimum Quantity. The operands are compared by their values in the system unit, obtained with cached
+   * converters, so that a reduction converts each quantity on every step it takes part in; {@link #minBy(Unit)} converts each quantity only once.
    *
    * @return the min BinaryOperator, not null.
+   * @see #minBy(Unit)
    */
   public static <Q extends Quantity<Q>> BinaryOperator<Quantity<Q>> min() {
-
-		return (q1, q2) -> {
-			double d1 = q1.getValue().doubleValue();
-			double d2 = q2.to(q1.getUnit()).getValue().doubleValue();
-			double min = Double.min(d1, d2);
-			if (min == d1) {
-				return q1;
-			}
-			return q2;
-		};
-	}
+    return (q1, q2) -> SystemConverters.toSystemValue(q1) <= SystemConverters.toSystemValue(q2) ? q1 : q2;
+  }
 
   /**
-   * Creates a BinaryOperator to calculate the maximum Quantity
+   * Creates a BinaryOperator to calculate the maximum Quantity. The operands are compared by their values in the system unit, obtained with cached
+   * converters, so that a reduction converts each quantity on every step it takes part in; {@link #maxBy(Unit)} converts each quantity only once.
    *
    * @return the max BinaryOperator, not null.
+   * @see #maxBy(Unit)
    */
   public static <Q extends Quantity<Q>> BinaryOperator<Quantity<Q>> max() {
-
-		return (q1, q2) -> {
-			double d1 = q1.getValue().doubleValue();
-			double d2 = q2.to(q1.getUnit()).getValue().doubleValue();
-			double min = Double.max(d1, d2);
-			if (min == d1) {
-				return q1;
-			}
-			return q2;
-		};
-	}
+    return (q1, q2) -> SystemConverters.toSystemValue(q1) >= SystemConverters.toSystemValue(q2) ? q1 : q2;
+  }
 
   /**
    * Creates a BinaryOperator to sum.
@@ -239,6 +233,86 @@ public final class QuantityFunctions {
 		return (q1, q2) -> q1.to(unit).add(q2.to(unit));
 	}
 
+  /**
+   * Creates a Collector returning the minimum Quantity. Each quantity is converted once to the specified unit, with a converter cached per source
+   * unit, to be compared as a primitive value; the minimum quantity is returned as it was collected.
+   *
+   * @param unit
+   *          the unit the quantities are compared in, not null.
+   * @return the min Collector, returning an empty Optional if there are no quantities.
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Optional<Quantity<Q>>> minBy(Unit<Q> unit) {
+    Objects.requireNonNull(unit);
+    Supplier<QuantityReducers.Extremum<Q>> supplier = () -> new QuantityReducers.Extremum<>(unit, false);
+    return Collector.of(supplier, QuantityReducers.Extremum<Q>::accept, QuantityReducers.Extremum<Q>::combine, QuantityReducers.Extremum<Q>::result);
+  }
+
+  /**
+   * Creates a Collector returning the maximum Quantity. Each quantity is converted once to the specified unit, with a converter cached per source
+   * unit, to be compared as a primitive value; the maximum quantity is returned as it was collected.
+   *
+   * @param unit
+   *          the unit the quantities are compared in, not null.
+   * @return the max Collector, returning an empty Optional if there are no quantities.
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Optional<Quantity<Q>>> maxBy(Unit<Q> unit) {
+    Objects.requireNonNull(unit);
+    Supplier<QuantityReducers.Extremum<Q>> supplier = () -> new QuantityReducers.Extremum<>(unit, true);
+    return Collector.of(supplier, QuantityReducers.Extremum<Q>::accept, QuantityReducers.Extremum<Q>::combine, QuantityReducers.Extremum<Q>::result);
+  }
+
+  /**
+   * Creates a Collector to sum in unit. Each quantity is converted once to the unit, with a converter cached per source unit, and added to a
+   * compensated primitive sum; the total is only created as a quantity at the end.
+   *
+   * @param unit
+   *          the unit of the sum, not null.
+   * @return the sum Collector, returning zero if there are no quantities.
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Quantity<Q>> summing(Unit<Q> unit) {
+    Objects.requireNonNull(unit);
+    Supplier<QuantityReducers.Sum<Q>> supplier = () -> new QuantityReducers.Sum<>(unit);
+    return Collector.of(supplier, QuantityReducers.Sum<Q>::accept, QuantityReducers.Sum<Q>::combine, QuantityReducers.Sum<Q>::result,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Creates a Collector selecting the <code>k</code> largest quantities, in a single pass and with memory proportional to <code>k</code>. Each
+   * quantity is converted once to its value in the system unit, equal quantities are kept in encounter order.
+   *
+   * @param k
+   *          the number of quantities to select, not negative.
+   * @return the Collector returning at most <code>k</code> quantities, the largest first.
+   * @throws IllegalArgumentException
+   *           if k is negative.
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, List<Quantity<Q>>> topK(int k) {
+    return select(k, true);
+  }
+
+  /**
+   * Creates a Collector selecting the <code>k</code> smallest quantities, in a single pass and with memory proportional to <code>k</code>. Each
+   * quantity is converted once to its value in the system unit, equal quantities are kept in encounter order.
+   *
+   * @param k
+   *          the number of quantities to select, not negative.
+   * @return the Collector returning at most <code>k</code> quantities, the smallest first.
+   * @throws IllegalArgumentException
+   *           if k is negative.
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, List<Quantity<Q>>> bottomK(int k) {
+    return select(k, false);
+  }
+
+  private static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, List<Quantity<Q>>> select(int k, boolean largest) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative: " + k);
+    }
+    Supplier<QuantityReducers.Selection<Q>> supplier = () -> new QuantityReducers.Selection<>(k, largest);
+    return Collector.of(supplier, QuantityReducers.Selection<Q>::accept, QuantityReducers.Selection<Q>::combine,
+        QuantityReducers.Selection<Q>::result);
+  }
+
   /**
    * Predicate to filter to one or more units
    *
@@ -297,8 +371,8 @@ public final class QuantityFunctions {
    * @return the Predicate greater than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isGreaterThan(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() > quantity.getValue().doubleValue();
-	}
+    return QuantityPredicate.greaterThan(quantity);
+  }
 
   /**
    * creates a Filter to greater or equals than number, ignoring units
@@ -319,8 +393,8 @@ public final class QuantityFunctions {
    * @return the Predicate greater or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isGreaterThanOrEqualTo(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() >= quantity.getValue().doubleValue();
-	}
+    return QuantityPredicate.greaterThanOrEqualTo(quantity);
+  }
 
   /**
    * creates a Filter to lesser than number, ignoring units
@@ -341,8 +415,8 @@ public final class QuantityFunctions {
    * @return the Predicate lesser than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isLesserThan(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() < quantity.getValue().doubleValue();
-	}
+    return QuantityPredicate.lesserThan(quantity);
+  }
 
   /**
    * creates a Filter to lesser or equals than number, ignoring units
@@ -363,8 +437,8 @@ public final class QuantityFunctions {
    * @return the Predicate lesser or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isLesserThanOrEqualTo(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() <= quantity.getValue().doubleValue();
-	}
+    return QuantityPredicate.lesserThanOrEqualTo(quantity);
+  }
 
   /**
    * creates a Filter to between, lesser or equals and greater or equals, than number, ignoring units
@@ -391,21 +465,174 @@ public final class QuantityFunctions {
    * @return the Predicate lesser or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isBetween(Quantity<Q> min, Quantity<Q> max) {
-    return isGreaterThanOrEqualTo(min).and(isLesserThanOrEqualTo(max));
+    return QuantityPredicate.between(min, max);
   }
 
   /**
-   * Summary of Quantity
+   * Summary of Quantity. The collector is {@link Collector.Characteristics#UNORDERED unordered} and can be used with parallel streams: each thread
+   * accumulates its own {@link QuantitySummaryStatistics}, the partial results are then combined. It is not
+   * {@link Collector.Characteristics#CONCURRENT concurrent}, as a single summary must not be updated from several threads.
    *
    * @return the QuantitySummaryStatistics
    */
   public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantitySummaryStatistics<Q>, QuantitySummaryStatistics<Q>> summarizeQuantity(
 			Unit<Q> unit) {
 		Supplier<QuantitySummaryStatistics<Q>> supplier = () -> new QuantitySummaryStatistics<>(unit);
-		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine);
+		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine, Collector.Characteristics.UNORDERED);
 	}
 
+  /**
+   * Moments of Quantity (mean, variance, standard deviation, skewness and kurtosis), computed in a single pass.
+   *
+   * @param unit
+   *          the unit the values are recorded in.
+   * @return the QuantityMoments
+   * @see QuantityMoments
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityMoments<Q>, QuantityMoments<Q>> summarizeMoments(Unit<Q> unit) {
+    Objects.requireNonNull(unit);
+    final Unit<?> squaredUnit = unit.pow(2);
+    Supplier<QuantityMoments<Q>> supplier = () -> new QuantityMoments<>(unit, squaredUnit);
+    return Collector.of(supplier, QuantityMoments<Q>::accept, QuantityMoments<Q>::combine, Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Histogram of Quantity, answering quantile queries with a relative accuracy of 1%.
+   *
+   * @param unit
+   *          the unit the values are recorded in.
+   * @return the QuantityHistogram
+   * @see QuantityHistogram
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityHistogram<Q>, QuantityHistogram<Q>> histogram(Unit<Q> unit) {
+    return histogram(unit, QuantityHistogram.DEFAULT_ACCURACY);
+  }
+
+  /**
+   * Histogram of Quantity, answering quantile queries with the specified relative accuracy. The memory used by each histogram is bounded, whatever
+   * the number of quantities.
+   *
+   * @param unit
+   *          the unit the values are recorded in.
+   * @param relativeAccuracy
+   *          the relative accuracy of the quantiles, in <code>]0, 1[</code>.
+   * @return the QuantityHistogram
+   * @see QuantityHistogram
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityHistogram<Q>, QuantityHistogram<Q>> histogram(Unit<Q> unit,
+      double relativeAccuracy) {
+    Objects.requireNonNull(unit);
+    QuantityHistogram.checkAccuracy(relativeAccuracy);
+    Supplier<QuantityHistogram<Q>> supplier = () -> new QuantityHistogram<>(unit, relativeAccuracy, QuantityHistogram.DEFAULT_MAX_BUCKETS);
+    return Collector.of(supplier, QuantityHistogram<Q>::accept, QuantityHistogram<Q>::combine, Collector.Characteristics.UNORDERED);
+  }
+
   public static <Q extends Quantity<Q>> Function<Quantity<Q>, Unit<Q>> groupByUnit() {
 		return Quantity::getUnit;
 	}
+
+  /**
+   * Creates a classifier by dimension, so that for instance quantities in metres, kilometres and feet belong to the same group.
+   *
+   * @return the dimension of the quantity
+   */
+  public static Function<Quantity<?>, Dimension> groupByDimension() {
+    return q -> q.getUnit().getDimension();
+  }
+
+  /**
+   * Creates a classifier by system unit, so that for instance quantities in metres and kilometres belong to the same group.
+   *
+   * @return the system unit of the quantity
+   */
+  public static Function<Quantity<?>, Unit<?>> groupBySystemUnit() {
+    return q -> q.getUnit().getSystemUnit();
+  }
+
+  /**
+   * Summary of Quantity by dimension, each group being summarized in the system unit of its first quantity.
+   *
+   * @return the QuantitySummaryStatistics by dimension
+   * @see #groupByDimension()
+   */
+  public static Collector<Quantity<?>, ?, Map<Dimension, QuantitySummaryStatistics<?>>> summarizeByDimension() {
+    return summarizeByDimension(d -> null);
+  }
+
+  /**
+   * Summary of Quantity by dimension, in a chosen unit per dimension. The quantities are accumulated directly into the summary of their group,
+   * converting each of them once with a converter cached per source unit.
+   *
+   * @param targetUnit
+   *          the unit to summarize a dimension in, the system unit of the first quantity of the group being used when it returns null.
+   * @return the QuantitySummaryStatistics by dimension
+   * @see #groupByDimension()
+   */
+  public static Collector<Quantity<?>, ?, Map<Dimension, QuantitySummaryStatistics<?>>> summarizeByDimension(
+      Function<? super Dimension, ? extends Unit<?>> targetUnit) {
+    return summarizeBy(groupByDimension(), targetUnit, HashMap::new, false);
+  }
+
+  /**
+   * Summary of Quantity by system unit, each group being summarized in its system unit.
+   *
+   * @return the QuantitySummaryStatistics by system unit
+   * @see #groupBySystemUnit()
+   */
+  public static Collector<Quantity<?>, ?, Map<Unit<?>, QuantitySummaryStatistics<?>>> summarizeBySystemUnit() {
+    return summarizeBy(groupBySystemUnit(), u -> u, HashMap::new, false);
+  }
+
+  /**
+   * Concurrent summary of Quantity by dimension, the counterpart of {@link #summarizeByDimension(Function)} for
+   * {@link java.util.stream.Collectors#groupingByConcurrent(Function) groupingByConcurrent}: parallel streams accumulate into a single concurrent
+   * map, each summary being updated under its own lock.
+   *
+   * @param targetUnit
+   *          the unit to summarize a dimension in, the system unit of the first quantity of the group being used when it returns null.
+   * @return the QuantitySummaryStatistics by dimension
+   */
+  public static Collector<Quantity<?>, ?, ConcurrentMap<Dimension, QuantitySummaryStatistics<?>>> summarizeByDimensionConcurrent(
+      Function<? super Dimension, ? extends Unit<?>> targetUnit) {
+    return summarizeBy(groupByDimension(), targetUnit, ConcurrentHashMap::new, true);
+  }
+
+  /**
+   * Concurrent summary of Quantity by system unit, the counterpart of {@link #summarizeBySystemUnit()} for
+   * {@link java.util.stream.Collectors#groupingByConcurrent(Function) groupingByConcurrent}.
+   *
+   * @return the QuantitySummaryStatistics by system unit
+   */
+  public static Collector<Quantity<?>, ?, ConcurrentMap<Unit<?>, QuantitySummaryStatistics<?>>> summarizeBySystemUnitConcurrent() {
+    return summarizeBy(groupBySystemUnit(), u -> u, ConcurrentHashMap::new, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, M extends Map<K, QuantitySummaryStatistics<?>>> Collector<Quantity<?>, M, M> summarizeBy(
+      Function<Quantity<?>, ? extends K> classifier, Function<? super K, ? extends Unit<?>> targetUnit, Supplier<M> mapFactory,
+      boolean concurrent) {
+    Objects.requireNonNull(targetUnit);
+    final BiConsumer<M, Quantity<?>> accumulator = (map, q) -> {
+      final QuantitySummaryStatistics summary = map.computeIfAbsent(classifier.apply(q), k -> {
+        final Unit unit = targetUnit.apply(k);
+        return new QuantitySummaryStatistics((unit != null) ? unit : q.getUnit().getSystemUnit());
+      });
+      if (concurrent) {
+        synchronized (summary) {
+          summary.accept(q);
+        }
+      } else {
+        summary.accept(q);
+      }
+    };
+    final BinaryOperator<M> combiner = (left, right) -> {
+      right.forEach((k, summary) -> left.merge(k, summary, (a, b) -> ((QuantitySummaryStatistics) a).combine(b)));
+      return left;
+    };
+    if (concurrent) {
+      return Collector.of(mapFactory, accumulator, combiner, Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED,
+          Collector.Characteristics.IDENTITY_FINISH);
+    }
+    return Collector.of(mapFactory, accumulator, combiner, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+  }
 }
@@ -0,0 +1,455 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * A streaming sketch of the distribution of quantities, answering quantile queries (median, p99, ...) without keeping the quantities.
+ * <p>
+ * Values are stated in the unit of the histogram and counted in logarithmic buckets: the bucket <code>i</code> holds the magnitudes in
+ * <code>(&gamma;<sup>i-1</sup>, &gamma;<sup>i</sup>]</code> with <code>&gamma; = (1 + &alpha;) / (1 - &alpha;)</code>, so any quantile is returned
+ * with a relative error of at most <code>&alpha;</code>. The memory is bounded by the maximum number of buckets per sign; when the range of values
+ * exceeds it, the buckets of the smallest magnitudes are merged, which only degrades the accuracy of the lowest quantiles. Minimum and maximum are
+ * exact.
+ * </p>
+ * <p>
+ * Histograms are mergeable with {@link #combine(QuantityHistogram)}, for parallel collection or aggregation of sketches serialized on other nodes.
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ * @see QuantityFunctions#histogram(Unit)
+ */
+public final class QuantityHistogram<Q extends Quantity<Q>> implements Serializable {
+
+  private static final long serialVersionUID = -2204585314734167305L;
+
+  /**
+   * The default relative accuracy (1%).
+   */
+  static final double DEFAULT_ACCURACY = 0.01;
+
+  /**
+   * The default maximum number of buckets per sign, covering more than 17 orders of magnitude at the default accuracy.
+   */
+  static final int DEFAULT_MAX_BUCKETS = 2048;
+
+  private final Unit<Q> unit;
+
+  private final double relativeAccuracy;
+
+  private final double gamma;
+
+  private final double logGamma;
+
+  private final Store positives;
+
+  private final Store negatives;
+
+  private long zeros;
+
+  private long count;
+
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  private transient UnitConverterCache<Q> converters;
+
+  /**
+   * Creates a new histogram with the default accuracy, targeting the given {@link javax.measure.Unit}.
+   *
+   * @param unit
+   *          the target unit, not null.
+   */
+  QuantityHistogram(Unit<Q> unit) {
+    this(unit, DEFAULT_ACCURACY, DEFAULT_MAX_BUCKETS);
+  }
+
+  /**
+   * Creates a new histogram.
+   *
+   * @param unit
+   *          the target unit, not null.
+   * @param relativeAccuracy
+   *          the relative accuracy of the quantiles, in <code>]0, 1[</code>.
+   * @param maxBuckets
+   *          the maximum number of buckets per sign, at least 1.
+   */
+  QuantityHistogram(Unit<Q> unit, double relativeAccuracy, int maxBuckets) {
+    checkAccuracy(relativeAccuracy);
+    if (maxBuckets < 1) {
+      throw new IllegalArgumentException("At least one bucket is required: " + maxBuckets);
+    }
+    this.unit = Objects.requireNonNull(unit);
+    this.relativeAccuracy = relativeAccuracy;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(gamma);
+    this.positives = new Store(maxBuckets);
+    this.negatives = new Store(maxBuckets);
+  }
+
+  /**
+   * Checks that the relative accuracy is in <code>]0, 1[</code> and large enough for the bucket indices of all finite values to fit in an
+   * <code>int</code>.
+   */
+  static void checkAccuracy(double relativeAccuracy) {
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("Relative accuracy must be in ]0, 1[: " + relativeAccuracy);
+    }
+    if (Math.log(Double.MAX_VALUE) / Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy)) > Integer.MAX_VALUE / 2) {
+      throw new IllegalArgumentException("Relative accuracy too small: " + relativeAccuracy);
+    }
+  }
+
+  /**
+   * Records another value into the histogram.
+   *
+   * @param quantity
+   *          the input quantity value to be added, not null.
+   */
+  public void accept(Quantity<Q> quantity) {
+    Objects.requireNonNull(quantity);
+    if (converters == null) {
+      converters = new UnitConverterCache<>(unit);
+    }
+    accept(converters.convert(quantity), 1);
+  }
+
+  /**
+   * Records a value, stated in the unit of this histogram, the specified number of times.
+   */
+  void accept(double value, long times) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("Cannot record NaN");
+    }
+    if (value >= Double.MIN_NORMAL) {
+      positives.add(index(value), times);
+    } else if (value <= -Double.MIN_NORMAL) {
+      negatives.add(index(-value), times);
+    } else {
+      zeros += times;
+    }
+    count += times;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  private int index(double magnitude) {
+    // Infinity is counted with the largest finite values.
+    return (int) Math.ceil(Math.log(Math.min(magnitude, Double.MAX_VALUE)) / logGamma);
+  }
+
+  /**
+   * Returns the magnitude representing the bucket of the specified index, with a relative error of at most the accuracy.
+   */
+  private double magnitude(int index) {
+    return 2 * Math.pow(gamma, index) / (gamma + 1);
+  }
+
+  /**
+   * Merges the state of another histogram into this one. The other histogram must have the same accuracy; when its unit differs, its buckets are
+   * converted to the unit of this histogram, which may add up to the accuracy to the error of the merged values.
+   *
+   * @param histogram
+   *          another {@code QuantityHistogram}, not null.
+   * @return this histogram, holding the merged state.
+   * @throws IllegalArgumentException
+   *           if the histograms have different accuracies.
+   */
+  public QuantityHistogram<Q> combine(QuantityHistogram<Q> histogram) {
+    Objects.requireNonNull(histogram);
+    if (Double.compare(relativeAccuracy, histogram.relativeAccuracy) != 0) {
+      throw new IllegalArgumentException("Cannot combine histograms of accuracies " + relativeAccuracy + " and " + histogram.relativeAccuracy);
+    }
+    if (histogram.count == 0) {
+      return this;
+    }
+    if (unit.equals(histogram.unit)) {
+      positives.addAll(histogram.positives);
+      negatives.addAll(histogram.negatives);
+      zeros += histogram.zeros;
+      count += histogram.count;
+      min = Math.min(min, histogram.min);
+      max = Math.max(max, histogram.max);
+    } else {
+      final UnitConverter converter = histogram.unit.getConverterTo(unit);
+      // The representative values of the buckets may lie outside of the exact extremes, which are restored below.
+      final double previousMin = min;
+      final double previousMax = max;
+      final Store other = histogram.positives;
+      for (int i = other.minIndex; other.total > 0 && i <= other.maxIndex; i++) {
+        final long n = other.count(i);
+        if (n > 0) {
+          accept(converter.convert(histogram.magnitude(i)), n);
+        }
+      }
+      final Store otherNegatives = histogram.negatives;
+      for (int i = otherNegatives.minIndex; otherNegatives.total > 0 && i <= otherNegatives.maxIndex; i++) {
+        final long n = otherNegatives.count(i);
+        if (n > 0) {
+          accept(converter.convert(-histogram.magnitude(i)), n);
+        }
+      }
+      if (histogram.zeros > 0) {
+        accept(converter.convert(0d), histogram.zeros);
+      }
+      final double convertedMin = converter.convert(histogram.min);
+      final double convertedMax = converter.convert(histogram.max);
+      min = Math.min(previousMin, Math.min(convertedMin, convertedMax));
+      max = Math.max(previousMax, Math.max(convertedMin, convertedMax));
+    }
+    return this;
+  }
+
+  /**
+   * Returns the value at the specified quantile, stated in the unit of this histogram.
+   */
+  double valueAt(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+    }
+    if (count == 0) {
+      return 0;
+    }
+    if (quantile == 0) {
+      return min;
+    }
+    if (quantile == 1) {
+      return max;
+    }
+    final double rank = quantile * (count - 1);
+    long seen = 0;
+    for (int i = negatives.maxIndex; negatives.total > 0 && i >= negatives.minIndex; i--) {
+      seen += negatives.count(i);
+      if (seen > rank) {
+        return clamp(-magnitude(i));
+      }
+    }
+    seen += zeros;
+    if (seen > rank) {
+      return clamp(0);
+    }
+    for (int i = positives.minIndex; positives.total > 0 && i <= positives.maxIndex; i++) {
+      seen += positives.count(i);
+      if (seen > rank) {
+        return clamp(magnitude(i));
+      }
+    }
+    return max;
+  }
+
+  private double clamp(double value) {
+    return Math.max(min, Math.min(max, value));
+  }
+
+  /**
+   * Get the number of items added to this histogram.
+   *
+   * @return the number of items, >= 0.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the relative accuracy of the quantiles returned by this histogram.
+   *
+   * @return the relative accuracy.
+   */
+  public double getRelativeAccuracy() {
+    return relativeAccuracy;
+  }
+
+  /**
+   * Get the unit of this histogram.
+   *
+   * @return the unit the values are stated in.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Get the quantity at the specified quantile, for instance <code>0.5</code> for the median or <code>0.99</code> for the 99th percentile.
+   *
+   * @param quantile
+   *          the quantile, in <code>[0, 1]</code>.
+   * @return the quantity at this quantile, zero if the histogram is empty.
+   * @throws IllegalArgumentException
+   *           if the quantile is not in <code>[0, 1]</code>.
+   */
+  public Quantity<Q> getQuantile(double quantile) {
+    return Quantities.getQuantity(valueAt(quantile), unit);
+  }
+
+  /**
+   * Get the quantity at the specified quantile converted to unit
+   *
+   * @param quantile
+   *          the quantile, in <code>[0, 1]</code>.
+   * @param unit
+   *          to convert
+   * @return the quantity at this quantile converted to this unit
+   */
+  public Quantity<Q> getQuantile(double quantile, Unit<Q> unit) {
+    return getQuantile(quantile).to(unit);
+  }
+
+  /**
+   * Get the minimal quantity recorded in this histogram.
+   *
+   * @return the minimal quantity, zero if the histogram is empty.
+   */
+  public Quantity<Q> getMin() {
+    return Quantities.getQuantity(count == 0 ? 0d : min, unit);
+  }
+
+  /**
+   * Get the maximal quantity recorded in this histogram.
+   *
+   * @return the maximal quantity, zero if the histogram is empty.
+   */
+  public Quantity<Q> getMax() {
+    return Quantities.getQuantity(count == 0 ? 0d : max, unit);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("[unit: ").append(unit).append(",");
+    sb.append("count:").append(count).append(",");
+    sb.append("min:").append(getMin()).append(",");
+    sb.append("median:").append(getQuantile(0.5)).append(",");
+    sb.append("max:").append(getMax()).append("]");
+    return sb.toString();
+  }
+
+  /**
+   * The bucket counts of one sign, in a dense array covering at most <code>maxBuckets</code> consecutive indices.
+   */
+  private static final class Store implements Serializable {
+
+    private static final long serialVersionUID = 7493160834151062845L;
+
+    private static final int INITIAL_SIZE = 64;
+
+    private final int maxBuckets;
+
+    private long[] counts = new long[0];
+
+    /** The index of <code>counts[0]</code>. */
+    private int offset;
+
+    /** The range of the non-empty buckets, valid when total > 0. */
+    private int minIndex;
+
+    private int maxIndex;
+
+    private long total;
+
+    Store(int maxBuckets) {
+      this.maxBuckets = maxBuckets;
+    }
+
+    long count(int index) {
+      return counts[index - offset];
+    }
+
+    void add(int index, long n) {
+      if (total == 0) {
+        resize(index, index);
+        minIndex = index;
+        maxIndex = index;
+      } else if (index < minIndex) {
+        // Too far below: counted in the lowest bucket that is kept.
+        index = (int) Math.max(index, (long) maxIndex - maxBuckets + 1);
+        if (index < minIndex) {
+          resize(index, maxIndex);
+          minIndex = index;
+        }
+      } else if (index > maxIndex) {
+        final int newMin = (int) Math.max(minIndex, (long) index - maxBuckets + 1);
+        long collapsed = 0;
+        for (int i = minIndex; i < newMin && i <= maxIndex; i++) {
+          collapsed += counts[i - offset];
+          counts[i - offset] = 0;
+        }
+        minIndex = Math.min(newMin, maxIndex);
+        resize(newMin, index);
+        minIndex = newMin;
+        counts[newMin - offset] += collapsed;
+        maxIndex = index;
+      }
+      counts[index - offset] += n;
+      total += n;
+    }
+
+    void addAll(Store other) {
+      for (int i = other.minIndex; other.total > 0 && i <= other.maxIndex; i++) {
+        final long n = other.count(i);
+        if (n > 0) {
+          add(i, n);
+        }
+      }
+    }
+
+    /**
+     * Makes the array cover the indices from <code>low</code> to <code>high</code>, keeping the non-empty buckets from <code>minIndex</code>.
+     */
+    private void resize(int low, int high) {
+      if (low >= offset && (long) high < (long) offset + counts.length) {
+        return;
+      }
+      final int needed = (int) ((long) high - low + 1);
+      final int length = (int) Math.min(maxBuckets, Math.max((long) INITIAL_SIZE, 2L * needed));
+      final long[] resized = new long[length];
+      final int newOffset = (high >= (long) offset + counts.length || total == 0) ? low : (int) ((long) high - length + 1);
+      for (int i = Math.max(minIndex, newOffset); total > 0 && i <= maxIndex && i < (long) newOffset + length; i++) {
+        if (i >= offset && i < (long) offset + counts.length) {
+          resized[i - newOffset] = counts[i - offset];
+        }
+      }
+      counts = resized;
+      offset = newOffset;
+    }
+  }
+}
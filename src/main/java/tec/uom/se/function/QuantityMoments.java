@@ -0,0 +1,294 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * A state object for computing the central moments of quantities in a single pass: mean, variance, standard deviation, skewness and kurtosis.
+ * <p>
+ * The moments are kept as primitive values stated in the target unit and updated with Welford's online algorithm, generalized to the third and fourth
+ * moments; partial results are merged exactly with {@link #combine(QuantityMoments)}. The standard deviation is stated in the target unit, the
+ * variance in its square, which is derived once per instance.
+ * </p>
+ * <p>
+ * This class is not thread safe, in the same way as {@link java.util.DoubleSummaryStatistics}.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ * @see QuantityFunctions#summarizeMoments(Unit)
+ */
+public final class QuantityMoments<Q extends Quantity<Q>> implements Serializable {
+
+  private static final long serialVersionUID = 3384615734908621137L;
+
+  private final Unit<Q> unit;
+
+  private final Unit<?> squaredUnit;
+
+  private long count;
+
+  private double mean;
+
+  /** Sums of the powers of the differences from the mean, from the second to the fourth. */
+  private double m2;
+
+  private double m3;
+
+  private double m4;
+
+  private transient UnitConverterCache<Q> converters;
+
+  /**
+   * Creates a new instance, targeting the given {@link javax.measure.Unit}.
+   *
+   * @param unit
+   *          the target unit, not null.
+   */
+  QuantityMoments(Unit<Q> unit) {
+    this(unit, unit.pow(2));
+  }
+
+  /**
+   * Creates a new instance, targeting the given {@link javax.measure.Unit} and sharing the given square of that unit, so that the containers created
+   * by a collector do not compute it again.
+   *
+   * @param unit
+   *          the target unit, not null.
+   * @param squaredUnit
+   *          the square of the target unit, not null.
+   */
+  QuantityMoments(Unit<Q> unit, Unit<?> squaredUnit) {
+    this.unit = Objects.requireNonNull(unit);
+    this.squaredUnit = Objects.requireNonNull(squaredUnit);
+  }
+
+  /**
+   * Records another value into the moments.
+   *
+   * @param quantity
+   *          the input quantity value to be added, not null.
+   */
+  public void accept(Quantity<Q> quantity) {
+    Objects.requireNonNull(quantity);
+    if (converters == null) {
+      converters = new UnitConverterCache<>(unit);
+    }
+    accept(converters.convert(quantity));
+  }
+
+  /**
+   * Records another value, stated in the target unit.
+   */
+  void accept(double value) {
+    final double n1 = count;
+    final double n = ++count;
+    final double delta = value - mean;
+    final double deltaN = delta / n;
+    final double deltaN2 = deltaN * deltaN;
+    final double term = delta * deltaN * n1;
+    mean += deltaN;
+    m4 += term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+    m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+    m2 += term;
+  }
+
+  /**
+   * Combines the state of another {@code QuantityMoments} into this one. The other instance may target a different unit, its moments are then
+   * rescaled to the unit of this instance.
+   *
+   * @param moments
+   *          another {@code QuantityMoments}, not null.
+   * @return this instance, holding the combined state.
+   */
+  public QuantityMoments<Q> combine(QuantityMoments<Q> moments) {
+    Objects.requireNonNull(moments);
+    if (moments.count == 0) {
+      return this;
+    }
+    double otherMean = moments.mean;
+    double otherM2 = moments.m2;
+    double otherM3 = moments.m3;
+    double otherM4 = moments.m4;
+    if (!unit.equals(moments.unit)) {
+      final UnitConverter converter = moments.unit.getConverterTo(unit);
+      final double factor = scaleOf(converter);
+      otherMean = converter.convert(otherMean);
+      otherM2 *= factor * factor;
+      otherM3 *= factor * factor * factor;
+      otherM4 *= factor * factor * factor * factor;
+    }
+    if (count == 0) {
+      count = moments.count;
+      mean = otherMean;
+      m2 = otherM2;
+      m3 = otherM3;
+      m4 = otherM4;
+      return this;
+    }
+    final double na = count;
+    final double nb = moments.count;
+    final double n = na + nb;
+    final double delta = otherMean - mean;
+    final double delta2 = delta * delta;
+    final double newM4 = m4 + otherM4 + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n) + 6 * delta2
+        * (na * na * otherM2 + nb * nb * m2) / (n * n) + 4 * delta * (na * otherM3 - nb * m3) / n;
+    final double newM3 = m3 + otherM3 + delta2 * delta * na * nb * (na - nb) / (n * n) + 3 * delta * (na * otherM2 - nb * m2) / n;
+    m2 = m2 + otherM2 + delta2 * na * nb / n;
+    m3 = newM3;
+    m4 = newM4;
+    mean += delta * nb / n;
+    count += moments.count;
+    return this;
+  }
+
+  /**
+   * Returns the factor applied by the specified converter to differences of values, which is what the spread of the values depends on.
+   */
+  private static double scaleOf(UnitConverter converter) {
+    return converter.convert(1d) - converter.convert(0d);
+  }
+
+  /**
+   * Get the number of items added to this instance.
+   *
+   * @return the number of items, >= 0.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the arithmetic mean of the quantities.
+   *
+   * @return the mean, zero if no quantity was added.
+   */
+  public Quantity<Q> getMean() {
+    return Quantities.getQuantity(mean, unit);
+  }
+
+  /**
+   * Get the population variance of the quantities, stated in the square of the target unit.
+   *
+   * @return the population variance, zero if no quantity was added.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public Quantity<?> getVariance() {
+    return Quantities.getQuantity(populationVariance(), (Unit) squaredUnit);
+  }
+
+  /**
+   * Get the sample variance of the quantities (with Bessel's correction), stated in the square of the target unit.
+   *
+   * @return the sample variance, zero if less than two quantities were added.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public Quantity<?> getSampleVariance() {
+    return Quantities.getQuantity(sampleVariance(), (Unit) squaredUnit);
+  }
+
+  /**
+   * Get the population standard deviation of the quantities.
+   *
+   * @return the population standard deviation, zero if no quantity was added.
+   */
+  public Quantity<Q> getStandardDeviation() {
+    return Quantities.getQuantity(Math.sqrt(populationVariance()), unit);
+  }
+
+  /**
+   * Get the population standard deviation of the quantities converted to unit. Only the scale of the conversion applies, an offset (as between
+   * Celsius and Kelvin) does not change a deviation.
+   *
+   * @param unit
+   *          to convert
+   * @return the population standard deviation stated in this unit
+   */
+  public Quantity<Q> getStandardDeviation(Unit<Q> unit) {
+    return Quantities.getQuantity(Math.sqrt(populationVariance()) * Math.abs(scaleOf(this.unit.getConverterTo(unit))), unit);
+  }
+
+  /**
+   * Get the sample standard deviation of the quantities (with Bessel's correction).
+   *
+   * @return the sample standard deviation, zero if less than two quantities were added.
+   */
+  public Quantity<Q> getSampleStandardDeviation() {
+    return Quantities.getQuantity(Math.sqrt(sampleVariance()), unit);
+  }
+
+  /**
+   * Get the skewness of the quantities, which does not depend on their unit.
+   *
+   * @return the population skewness, <code>NaN</code> if the quantities do not vary.
+   */
+  public double getSkewness() {
+    return (m2 == 0) ? Double.NaN : Math.sqrt(count) * m3 / Math.pow(m2, 1.5);
+  }
+
+  /**
+   * Get the excess kurtosis of the quantities (zero for a normal distribution), which does not depend on their unit.
+   *
+   * @return the population excess kurtosis, <code>NaN</code> if the quantities do not vary.
+   */
+  public double getKurtosis() {
+    return (m2 == 0) ? Double.NaN : count * m4 / (m2 * m2) - 3;
+  }
+
+  private double populationVariance() {
+    return (count == 0) ? 0 : m2 / count;
+  }
+
+  private double sampleVariance() {
+    return (count < 2) ? 0 : m2 / (count - 1);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("[unit: ").append(unit).append(",");
+    sb.append("count:").append(count).append(",");
+    sb.append("mean:").append(getMean()).append(",");
+    sb.append("stddev:").append(getStandardDeviation()).append(",");
+    sb.append("skewness:").append(getSkewness()).append(",");
+    sb.append("kurtosis:").append(getKurtosis()).append("]");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+/**
+ * A compiled predicate testing whether quantities lie within bounds. Instead of converting every tested quantity, the bounds are converted once to
+ * the unit of the tested quantities, and cached per unit: testing a quantity of an already encountered unit is a comparison of primitive values.
+ * Values stated in a known unit can also be tested in bulk, see {@link #filter(double[], Unit)} and {@link #indicesOf(double[], Unit)}.
+ * <p>
+ * Instances are immutable apart from their cache, and thread safe: they can be used to filter parallel streams.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ * @see QuantityFunctions#isBetween(Quantity, Quantity)
+ */
+public final class QuantityPredicate<Q extends Quantity<Q>> implements Predicate<Quantity<Q>> {
+
+  /**
+   * The maximum number of units the converted bounds are cached for, further units are converted on every test.
+   */
+  static final int MAX_CACHED_UNITS = 64;
+
+  private final Quantity<Q> lower;
+
+  private final boolean lowerInclusive;
+
+  private final Quantity<Q> upper;
+
+  private final boolean upperInclusive;
+
+  private final Map<Unit<Q>, Bounds> cache = new ConcurrentHashMap<>();
+
+  private volatile Bounds last;
+
+  private QuantityPredicate(Quantity<Q> lower, boolean lowerInclusive, Quantity<Q> upper, boolean upperInclusive) {
+    this.lower = lower;
+    this.lowerInclusive = lowerInclusive;
+    this.upper = upper;
+    this.upperInclusive = upperInclusive;
+  }
+
+  /**
+   * Creates a predicate accepting the quantities greater than the specified one.
+   *
+   * @param quantity
+   *          the exclusive lower bound, not null.
+   * @return the compiled predicate
+   */
+  public static <Q extends Quantity<Q>> QuantityPredicate<Q> greaterThan(Quantity<Q> quantity) {
+    return new QuantityPredicate<>(Objects.requireNonNull(quantity), false, null, false);
+  }
+
+  /**
+   * Creates a predicate accepting the quantities greater than or equal to the specified one.
+   *
+   * @param quantity
+   *          the inclusive lower bound, not null.
+   * @return the compiled predicate
+   */
+  public static <Q extends Quantity<Q>> QuantityPredicate<Q> greaterThanOrEqualTo(Quantity<Q> quantity) {
+    return new QuantityPredicate<>(Objects.requireNonNull(quantity), true, null, false);
+  }
+
+  /**
+   * Creates a predicate accepting the quantities lesser than the specified one.
+   *
+   * @param quantity
+   *          the exclusive upper bound, not null.
+   * @return the compiled predicate
+   */
+  public static <Q extends Quantity<Q>> QuantityPredicate<Q> lesserThan(Quantity<Q> quantity) {
+    return new QuantityPredicate<>(null, false, Objects.requireNonNull(quantity), false);
+  }
+
+  /**
+   * Creates a predicate accepting the quantities lesser than or equal to the specified one.
+   *
+   * @param quantity
+   *          the inclusive upper bound, not null.
+   * @return the compiled predicate
+   */
+  public static <Q extends Quantity<Q>> QuantityPredicate<Q> lesserThanOrEqualTo(Quantity<Q> quantity) {
+    return new QuantityPredicate<>(null, false, Objects.requireNonNull(quantity), true);
+  }
+
+  /**
+   * Creates a predicate accepting the quantities between the specified ones, inclusive.
+   *
+   * @param min
+   *          the inclusive lower bound, not null.
+   * @param max
+   *          the inclusive upper bound, not null.
+   * @return the compiled predicate
+   */
+  public static <Q extends Quantity<Q>> QuantityPredicate<Q> between(Quantity<Q> min, Quantity<Q> max) {
+    return new QuantityPredicate<>(Objects.requireNonNull(min), true, Objects.requireNonNull(max), true);
+  }
+
+  /**
+   * Tests whether the specified quantity lies within the bounds of this predicate.
+   *
+   * @param quantity
+   *          the quantity to test, not null.
+   * @return <code>true</code> if the quantity lies within the bounds.
+   */
+  @Override
+  public boolean test(Quantity<Q> quantity) {
+    return bounds(quantity.getUnit()).test(SystemConverters.doubleValue(quantity));
+  }
+
+  /**
+   * Tests whether the specified value lies within the bounds of this predicate.
+   *
+   * @param value
+   *          the value to test.
+   * @param unit
+   *          the unit of the value, not null.
+   * @return <code>true</code> if the value lies within the bounds.
+   */
+  public boolean test(double value, Unit<Q> unit) {
+    return bounds(unit).test(value);
+  }
+
+  /**
+   * Tests the specified values, all stated in the same unit.
+   *
+   * @param values
+   *          the values to test, not null.
+   * @param unit
+   *          the unit of the values, not null.
+   * @return the set of the positions of the values lying within the bounds.
+   */
+  public BitSet filter(double[] values, Unit<Q> unit) {
+    final Bounds bounds = bounds(unit);
+    final BitSet result = new BitSet(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (bounds.test(values[i])) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Tests the specified values, all stated in the same unit.
+   *
+   * @param values
+   *          the values to test, not null.
+   * @param unit
+   *          the unit of the values, not null.
+   * @return the positions of the values lying within the bounds, in ascending order.
+   */
+  public int[] indicesOf(double[] values, Unit<Q> unit) {
+    final Bounds bounds = bounds(unit);
+    final int[] indices = new int[values.length];
+    int count = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (bounds.test(values[i])) {
+        indices[count++] = i;
+      }
+    }
+    return (count == indices.length) ? indices : Arrays.copyOf(indices, count);
+  }
+
+  private Bounds bounds(Unit<Q> unit) {
+    Bounds bounds = last;
+    if (bounds != null && bounds.unit == unit) {
+      return bounds;
+    }
+    bounds = cache.get(unit);
+    if (bounds == null) {
+      bounds = compile(unit);
+      if (cache.size() < MAX_CACHED_UNITS) {
+        cache.putIfAbsent(unit, bounds);
+      }
+    }
+    last = bounds;
+    return bounds;
+  }
+
+  /**
+   * Converts the bounds to the specified unit. Should the conversion reverse the order of values, the bounds are swapped.
+   */
+  private Bounds compile(Unit<Q> unit) {
+    double low = Double.NEGATIVE_INFINITY;
+    double high = Double.POSITIVE_INFINITY;
+    boolean lowInclusive = true;
+    boolean highInclusive = true;
+    boolean reversed = false;
+    if (lower != null) {
+      final UnitConverter converter = lower.getUnit().getConverterTo(unit);
+      low = converter.convert(SystemConverters.doubleValue(lower));
+      lowInclusive = lowerInclusive;
+      reversed = converter.convert(1d) < converter.convert(0d);
+    }
+    if (upper != null) {
+      final UnitConverter converter = upper.getUnit().getConverterTo(unit);
+      high = converter.convert(SystemConverters.doubleValue(upper));
+      highInclusive = upperInclusive;
+      reversed = converter.convert(1d) < converter.convert(0d);
+    }
+    if (reversed) {
+      // v <= low and v >= high, that is -v >= -low and -v <= -high
+      return new Bounds(unit, (lower == null) ? Double.NEGATIVE_INFINITY : -low, lowInclusive, (upper == null) ? Double.POSITIVE_INFINITY : -high,
+          highInclusive, true);
+    }
+    return new Bounds(unit, low, lowInclusive, high, highInclusive, false);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(lower == null ? "(-∞" : (lowerInclusive ? "[" : "(") + lower);
+    sb.append(", ");
+    sb.append(upper == null ? "+∞)" : upper + (upperInclusive ? "]" : ")"));
+    return sb.toString();
+  }
+
+  /**
+   * The bounds converted to a unit. When the conversion reverses the order, values are negated before being compared.
+   */
+  private static final class Bounds {
+
+    private final Unit<?> unit;
+    private final double low;
+    private final boolean lowInclusive;
+    private final double high;
+    private final boolean highInclusive;
+    private final boolean negate;
+
+    Bounds(Unit<?> unit, double low, boolean lowInclusive, double high, boolean highInclusive, boolean negate) {
+      this.unit = unit;
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+      this.negate = negate;
+    }
+
+    boolean test(double value) {
+      final double v = negate ? -value : value;
+      return (lowInclusive ? v >= low : v > low) && (highInclusive ? v <= high : v < high);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * Mutable containers of the min, max, sum and selection collectors of {@link QuantityFunctions}. Each element is converted once with a cached
+ * converter, the running result is kept as primitive values.
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class QuantityReducers {
+
+  private QuantityReducers() {
+  }
+
+  /**
+   * Keeps the smallest or largest quantity. Of equal quantities, the first one wins. <code>NaN</code> values only win if no other value was seen.
+   */
+  static final class Extremum<Q extends Quantity<Q>> {
+
+    private final UnitConverterCache<Q> converters;
+
+    private final boolean max;
+
+    private Quantity<Q> winner;
+
+    private double value;
+
+    Extremum(Unit<Q> unit, boolean max) {
+      this.converters = new UnitConverterCache<>(unit);
+      this.max = max;
+    }
+
+    void accept(Quantity<Q> quantity) {
+      offer(quantity, converters.convert(quantity));
+    }
+
+    private void offer(Quantity<Q> quantity, double candidate) {
+      if (winner == null || Double.isNaN(value) || (max ? candidate > value : candidate < value)) {
+        winner = quantity;
+        value = candidate;
+      }
+    }
+
+    Extremum<Q> combine(Extremum<Q> other) {
+      if (other.winner != null) {
+        offer(other.winner, other.value);
+      }
+      return this;
+    }
+
+    Optional<Quantity<Q>> result() {
+      return Optional.ofNullable(winner);
+    }
+  }
+
+  /**
+   * Keeps the compensated sum of the quantities.
+   */
+  static final class Sum<Q extends Quantity<Q>> {
+
+    private final Unit<Q> unit;
+
+    private final UnitConverterCache<Q> converters;
+
+    private final CompensatedSum sum = new CompensatedSum();
+
+    Sum(Unit<Q> unit) {
+      this.unit = unit;
+      this.converters = new UnitConverterCache<>(unit);
+    }
+
+    void accept(Quantity<Q> quantity) {
+      sum.add(converters.convert(quantity));
+    }
+
+    Sum<Q> combine(Sum<Q> other) {
+      sum.add(other.sum);
+      return this;
+    }
+
+    Quantity<Q> result() {
+      return Quantities.getQuantity(sum.value(), unit);
+    }
+  }
+
+  /**
+   * Keeps the <code>k</code> largest or smallest quantities in a bounded heap, keyed on their value in the system unit. Equal quantities are ranked
+   * by encounter order, which the sequence numbers track across combined containers, so the selection and its order are stable.
+   */
+  static final class Selection<Q extends Quantity<Q>> {
+
+    private final int k;
+
+    private final boolean largest;
+
+    /** The heap, whose root is the worst selected quantity. */
+    private Object[] quantities = new Object[0];
+
+    private long[] keys = new long[0];
+
+    private long[] sequences = new long[0];
+
+    private int size;
+
+    /** The number of quantities seen, the next sequence number. */
+    private long count;
+
+    Selection(int k, boolean largest) {
+      this.k = k;
+      this.largest = largest;
+    }
+
+    void accept(Quantity<Q> quantity) {
+      final long key = QuantitySort.sortableBits(SystemConverters.toSystemValue(quantity));
+      offer(quantity, largest ? ~key : key, count++);
+    }
+
+    /**
+     * Offers a quantity, whose key is smaller the better it ranks.
+     */
+    private void offer(Object quantity, long key, long sequence) {
+      if (size < k) {
+        if (size == quantities.length) {
+          final int length = (int) Math.min(k, Math.max(8L, 2L * size));
+          quantities = Arrays.copyOf(quantities, length);
+          keys = Arrays.copyOf(keys, length);
+          sequences = Arrays.copyOf(sequences, length);
+        }
+        set(size, quantity, key, sequence);
+        siftUp(size++);
+      } else if (k > 0 && ranksBefore(key, sequence, keys[0], sequences[0])) {
+        set(0, quantity, key, sequence);
+        siftDown(0);
+      }
+    }
+
+    private static boolean ranksBefore(long key, long sequence, long otherKey, long otherSequence) {
+      return key < otherKey || (key == otherKey && sequence < otherSequence);
+    }
+
+    private boolean ranksBefore(int i, int j) {
+      return ranksBefore(keys[i], sequences[i], keys[j], sequences[j]);
+    }
+
+    private void set(int i, Object quantity, long key, long sequence) {
+      quantities[i] = quantity;
+      keys[i] = key;
+      sequences[i] = sequence;
+    }
+
+    private void swap(int i, int j) {
+      final Object quantity = quantities[i];
+      final long key = keys[i];
+      final long sequence = sequences[i];
+      set(i, quantities[j], keys[j], sequences[j]);
+      set(j, quantity, key, sequence);
+    }
+
+    private void siftUp(int i) {
+      while (i > 0) {
+        final int parent = (i - 1) >>> 1;
+        if (!ranksBefore(parent, i)) {
+          return;
+        }
+        swap(i, parent);
+        i = parent;
+      }
+    }
+
+    private void siftDown(int i) {
+      while (true) {
+        final int left = 2 * i + 1;
+        if (left >= size) {
+          return;
+        }
+        int worst = left;
+        if (left + 1 < size && ranksBefore(left, left + 1)) {
+          worst = left + 1;
+        }
+        if (!ranksBefore(i, worst)) {
+          return;
+        }
+        swap(i, worst);
+        i = worst;
+      }
+    }
+
+    /**
+     * Merges the quantities selected by a container of the following elements.
+     */
+    Selection<Q> combine(Selection<Q> other) {
+      for (int i = 0; i < other.size; i++) {
+        offer(other.quantities[i], other.keys[i], count + other.sequences[i]);
+      }
+      count += other.count;
+      return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Quantity<Q>> result() {
+      final Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (i, j) -> ranksBefore(i, j) ? -1 : (ranksBefore(j, i) ? 1 : 0));
+      final List<Quantity<Q>> result = new ArrayList<>(size);
+      for (Integer i : order) {
+        result.add((Quantity<Q>) quantities[i]);
+      }
+      return result;
+    }
+  }
+}
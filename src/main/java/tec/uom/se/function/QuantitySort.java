@@ -0,0 +1,247 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import javax.measure.Quantity;
+
+/**
+ * Sorts quantities of mixed units by their magnitude. Unlike a {@link java.util.Comparator} that converts one quantity on every comparison, each
+ * quantity is converted to a <code>double</code> key in its system unit exactly once; the keys are then sorted as primitives together with the
+ * positions of the quantities, which are finally put in order. The sort is stable, large inputs are sorted in parallel in the current
+ * {@link ForkJoinPool}, or in the common pool.
+ * <p>
+ * Keys are ordered as {@link Double#compare(double, double)} does: <code>-0.0</code> before <code>0.0</code> (after it in descending order),
+ * <code>NaN</code> last in both ascending and descending order.
+ * </p>
+ *
+ * @version 1.0
+ * @since 1.0.11
+ * @see QuantityFunctions#sortNatural()
+ */
+public final class QuantitySort {
+
+  /**
+   * The minimum number of elements for the sort to be split across threads, as in {@link java.util.Arrays#parallelSort(double[])}.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  /**
+   * Runs shorter than this are sorted by insertion.
+   */
+  private static final int INSERTION_THRESHOLD = 32;
+
+  private QuantitySort() {
+  }
+
+  /**
+   * Sorts the specified list of quantities in ascending order of magnitude, in place.
+   *
+   * @param quantities
+   *          the list to sort, not null.
+   * @throws NullPointerException
+   *           if the list or one of its elements is null.
+   * @throws UnsupportedOperationException
+   *           if the list iterator does not support the <code>set</code> operation.
+   */
+  public static <Q extends Quantity<Q>> void sort(List<Quantity<Q>> quantities) {
+    reorder(quantities, false);
+  }
+
+  /**
+   * Sorts the specified list of quantities in descending order of magnitude, in place.
+   *
+   * @param quantities
+   *          the list to sort, not null.
+   * @throws NullPointerException
+   *           if the list or one of its elements is null.
+   * @throws UnsupportedOperationException
+   *           if the list iterator does not support the <code>set</code> operation.
+   */
+  public static <Q extends Quantity<Q>> void sortDesc(List<Quantity<Q>> quantities) {
+    reorder(quantities, true);
+  }
+
+  /**
+   * Returns a new list holding the specified quantities in ascending order of magnitude.
+   *
+   * @param quantities
+   *          the quantities to sort, not null.
+   * @return the sorted list.
+   * @throws NullPointerException
+   *           if the collection or one of its elements is null.
+   */
+  public static <Q extends Quantity<Q>> List<Quantity<Q>> sorted(Collection<? extends Quantity<Q>> quantities) {
+    final List<Quantity<Q>> list = new ArrayList<>(quantities);
+    reorder(list, false);
+    return list;
+  }
+
+  /**
+   * Returns a new list holding the specified quantities in descending order of magnitude.
+   *
+   * @param quantities
+   *          the quantities to sort, not null.
+   * @return the sorted list.
+   * @throws NullPointerException
+   *           if the collection or one of its elements is null.
+   */
+  public static <Q extends Quantity<Q>> List<Quantity<Q>> sortedDesc(Collection<? extends Quantity<Q>> quantities) {
+    final List<Quantity<Q>> list = new ArrayList<>(quantities);
+    reorder(list, true);
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <Q extends Quantity<Q>> void reorder(List<Quantity<Q>> quantities, boolean descending) {
+    Objects.requireNonNull(quantities);
+    final Object[] elements = quantities.toArray();
+    final int[] order = order(elements, descending);
+    final ListIterator<Quantity<Q>> iterator = quantities.listIterator();
+    for (int index : order) {
+      iterator.next();
+      iterator.set((Quantity<Q>) elements[index]);
+    }
+  }
+
+  /**
+   * Returns the positions of the specified quantities in sorted order.
+   */
+  @SuppressWarnings("unchecked")
+  static int[] order(Object[] quantities, boolean descending) {
+    final int size = quantities.length;
+    final long[] keys = new long[size];
+    final int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      final Quantity<?> quantity = (Quantity<?>) Objects.requireNonNull(quantities[i]);
+      final double value = SystemConverters.toSystemValue((Quantity) quantity);
+      final long key = sortableBits(value);
+      // Reversing the keys rather than the result keeps equal quantities in their original order, NaN keeps the greatest key.
+      keys[i] = (descending && !Double.isNaN(value)) ? ~key : key;
+      order[i] = i;
+    }
+    final int[] buffer = new int[size];
+    if (size >= PARALLEL_THRESHOLD && (ForkJoinTask.inForkJoinPool() || ForkJoinPool.getCommonPoolParallelism() > 1)) {
+      new SortTask(keys, order, buffer, 0, size).invoke();
+    } else {
+      sort(keys, order, buffer, 0, size);
+    }
+    return order;
+  }
+
+  /**
+   * Maps a <code>double</code> to a <code>long</code> with the same ordering as {@link Double#compare(double, double)}.
+   */
+  static long sortableBits(double value) {
+    final long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  /**
+   * Merge sorts the positions from <code>from</code> (inclusive) to <code>to</code> (exclusive) by their keys.
+   */
+  private static void sort(long[] keys, int[] order, int[] buffer, int from, int to) {
+    if (to - from < INSERTION_THRESHOLD) {
+      insertionSort(keys, order, from, to);
+      return;
+    }
+    final int middle = (from + to) >>> 1;
+    sort(keys, order, buffer, from, middle);
+    sort(keys, order, buffer, middle, to);
+    merge(keys, order, buffer, from, middle, to);
+  }
+
+  private static void insertionSort(long[] keys, int[] order, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      final int index = order[i];
+      final long key = keys[index];
+      int j = i - 1;
+      while (j >= from && keys[order[j]] > key) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = index;
+    }
+  }
+
+  private static void merge(long[] keys, int[] order, int[] buffer, int from, int middle, int to) {
+    if (keys[order[middle - 1]] <= keys[order[middle]]) {
+      return; // already in order
+    }
+    System.arraycopy(order, from, buffer, from, to - from);
+    int left = from;
+    int right = middle;
+    for (int i = from; i < to; i++) {
+      if (right >= to || (left < middle && keys[buffer[left]] <= keys[buffer[right]])) {
+        order[i] = buffer[left++];
+      } else {
+        order[i] = buffer[right++];
+      }
+    }
+  }
+
+  private static final class SortTask extends RecursiveAction {
+
+    private static final long serialVersionUID = -6434981216618744389L;
+
+    private final long[] keys;
+    private final int[] order;
+    private final int[] buffer;
+    private final int from;
+    private final int to;
+
+    SortTask(long[] keys, int[] order, int[] buffer, int from, int to) {
+      this.keys = keys;
+      this.order = order;
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from < PARALLEL_THRESHOLD) {
+        sort(keys, order, buffer, from, to);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new SortTask(keys, order, buffer, from, middle), new SortTask(keys, order, buffer, middle, to));
+      merge(keys, order, buffer, from, middle, to);
+    }
+  }
+}
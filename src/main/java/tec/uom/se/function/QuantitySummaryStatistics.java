@@ -30,37 +30,42 @@
 package tec.uom.se.function;
 
 import java.util.Objects;
-import java.util.function.BinaryOperator;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
 import tec.uom.se.quantity.Quantities;
 
 /**
+ * A state object for collecting statistics such as count, min, max, sum, and average of quantities.
+ * <p>
+ * The statistics are kept as primitive values stated in the target unit: the sum is accumulated with Neumaier's compensated summation, the average is
+ * only computed when requested, and the converter of each input unit is looked up once. {@link Quantity} instances are created by the getters only.
+ * </p>
+ * <p>
+ * This class is not thread safe, in the same way as {@link java.util.DoubleSummaryStatistics}.
+ * </p>
+ * 
  * @author Otavio
  * @author Werner
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  * @param <Q>
  */
 public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
 
-  private final Quantity<Q> empty;
+  private final Unit<Q> unit;
 
   private long count;
 
-  private Quantity<Q> min;
+  private double min = Double.POSITIVE_INFINITY;
 
-  private Quantity<Q> max;
+  private double max = Double.NEGATIVE_INFINITY;
 
-  private Quantity<Q> sum;
+  private final CompensatedSum sum = new CompensatedSum();
 
-  private Quantity<Q> average;
-
-  private final BinaryOperator<Quantity<Q>> minFunctions = QuantityFunctions.min();
-
-  private final BinaryOperator<Quantity<Q>> maxFunctions = QuantityFunctions.max();
+  private final UnitConverterCache<Q> converters;
 
   /**
    * Creates a new instance, targeting the given {@link javax.measure.Unit}.
@@ -69,8 +74,8 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    *          the target unit, not null.
    */
   QuantitySummaryStatistics(Unit<Q> unit) {
-    empty = Quantities.getQuantity(0, unit);
-    setQuantity(empty);
+    this.unit = Objects.requireNonNull(unit);
+    this.converters = new UnitConverterCache<>(unit);
   }
 
   /**
@@ -80,54 +85,48 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    *          the input quantity value to be added, not null.
    */
   public void accept(Quantity<Q> quantity) {
-
     Objects.requireNonNull(quantity);
+    accept(converters.convert(quantity));
+  }
 
-    if (isEmpty()) {
-      setQuantity(quantity.to(empty.getUnit()));
-      count++;
-    } else {
-      doSummary(quantity.to(empty.getUnit()));
-    }
+  /**
+   * Records another value, stated in the target unit of this summary.
+   */
+  void accept(double value) {
+    count++;
+    sum.add(value);
+    min = Math.min(min, value);
+    max = Math.max(max, value);
   }
 
   /**
-   * Combines the state of another {@code QuantitySummaryStatistics} into this one.
+   * Combines the state of another {@code QuantitySummaryStatistics} into this one. The other summary may target a different unit, its state is then
+   * converted to the unit of this summary. Combining is associative, so partial summaries of a parallel stream can be merged in any order.
    * 
    * @param quantitySummary
    *          another {@code QuantitySummaryStatistics}, not null.
+   * @return this summary, holding the combined state.
    */
   public QuantitySummaryStatistics<Q> combine(QuantitySummaryStatistics<Q> quantitySummary) {
     Objects.requireNonNull(quantitySummary);
 
-    if (!equals(quantitySummary)) {
+    if (quantitySummary.isEmpty()) {
       return this;
     }
-
-    min = minFunctions.apply(min, quantitySummary.min.to(empty.getUnit()));
-    max = maxFunctions.apply(max, quantitySummary.max.to(empty.getUnit()));
-    sum = sum.add(quantitySummary.sum);
-    count += quantitySummary.count;
-    average = sum.divide(count);
+    final QuantitySummaryStatistics<Q> other = unit.equals(quantitySummary.unit) ? quantitySummary : quantitySummary.to(unit);
+    count += other.count;
+    sum.add(other.sum);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
     return this;
   }
 
-  private void doSummary(Quantity<Q> moneraty) {
-    min = minFunctions.apply(min, moneraty);
-    max = maxFunctions.apply(max, moneraty);
-    sum = sum.add(moneraty);
-    average = sum.divide(++count);
-  }
-
   private boolean isEmpty() {
     return count == 0;
   }
 
-  private void setQuantity(Quantity<Q> quantity) {
-    min = quantity;
-    max = quantity;
-    sum = quantity;
-    average = quantity;
+  private Quantity<Q> quantityOf(double value) {
+    return Quantities.getQuantity(isEmpty() ? 0d : value, unit);
   }
 
   /**
@@ -145,7 +144,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity
    */
   public Quantity<Q> getMin() {
-    return min;
+    return quantityOf(min);
   }
 
   /**
@@ -156,7 +155,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity converted to this unit
    */
   public Quantity<Q> getMin(Unit<Q> unit) {
-    return min.to(unit);
+    return getMin().to(unit);
   }
 
   /**
@@ -165,7 +164,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity
    */
   public Quantity<Q> getMax() {
-    return max;
+    return quantityOf(max);
   }
 
   /**
@@ -176,7 +175,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity converted to this unit
    */
   public Quantity<Q> getMax(Unit<Q> unit) {
-    return max.to(unit);
+    return getMax().to(unit);
   }
 
   /**
@@ -185,7 +184,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount
    */
   public Quantity<Q> getSum() {
-    return sum;
+    return quantityOf(sum.value());
   }
 
   /**
@@ -196,7 +195,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount converted to this unit
    */
   public Quantity<Q> getSum(Unit<Q> unit) {
-    return sum.to(unit);
+    return getSum().to(unit);
   }
 
   /**
@@ -205,7 +204,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the quantity average quantity
    */
   public Quantity<Q> getAverage() {
-    return average;
+    return quantityOf(isEmpty() ? 0d : sum.value() / count);
   }
 
   /**
@@ -216,26 +215,47 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the average quantity converted to this unit
    */
   public Quantity<Q> getAverage(Unit<Q> unit) {
-    return average.to(unit);
+    return getAverage().to(unit);
   }
 
   /**
-   * convert the summary to this unit measure
+   * convert the summary to this unit measure. The sum of an affine conversion <code>x &rarr; a&middot;x + b</code> (e.g. <code>K &rarr; &deg;C</code>
+   * ) is converted as <code>a&middot;sum + b&middot;count</code>.
    * 
    * @param unit
    *          to convert the summary
    * @return the summary converted to this unit
+   * @throws IllegalArgumentException
+   *           if the conversion to this unit is not affine (e.g. logarithmic), the sum being then meaningless in the target unit.
    */
   public QuantitySummaryStatistics<Q> to(Unit<Q> unit) {
-    QuantitySummaryStatistics<Q> summary = new QuantitySummaryStatistics<>(unit);
-    summary.average = average.to(unit);
-    summary.count = count;
-    summary.max = max.to(unit);
-    summary.min = min.to(unit);
-    summary.sum = sum.to(unit);
+    final QuantitySummaryStatistics<Q> summary = new QuantitySummaryStatistics<>(unit);
+    if (!isEmpty()) {
+      final UnitConverter converter = this.unit.getConverterTo(unit);
+      if (!isAffine(converter)) {
+        throw new IllegalArgumentException("The conversion from " + this.unit + " to " + unit + " is not affine");
+      }
+      final double convertedMin = converter.convert(min);
+      final double convertedMax = converter.convert(max);
+      summary.count = count;
+      // a.sum + b.count = (a.sum + b) + b.(count - 1)
+      summary.sum.add(converter.convert(sum.value()));
+      summary.sum.add(converter.convert(0d) * (count - 1));
+      summary.min = Math.min(convertedMin, convertedMax);
+      summary.max = Math.max(convertedMin, convertedMax);
+    }
     return summary;
   }
 
+  private static boolean isAffine(UnitConverter converter) {
+    for (UnitConverter step : converter.getConversionSteps()) {
+      if (!step.isLinear() && !(step instanceof AddConverter)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * will equals when the unit were equals
    */
@@ -244,25 +264,25 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
     if (QuantitySummaryStatistics.class.isInstance(obj)) {
       @SuppressWarnings("rawtypes")
       QuantitySummaryStatistics other = QuantitySummaryStatistics.class.cast(obj);
-      return Objects.equals(empty.getUnit(), other.empty.getUnit());
+      return Objects.equals(unit, other.unit);
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return empty.getUnit().hashCode();
+    return unit.hashCode();
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
-    sb.append("[currency: ").append(empty.getUnit()).append(",");
+    sb.append("[currency: ").append(unit).append(",");
     sb.append("count:").append(count).append(",");
-    sb.append("min:").append(min).append(",");
-    sb.append("max:").append(max).append(",");
-    sb.append("sum:").append(sum).append(",");
-    sb.append("average:").append(average).append("]");
+    sb.append("min:").append(getMin()).append(",");
+    sb.append("max:").append(getMax()).append(",");
+    sb.append("sum:").append(getSum()).append(",");
+    sb.append("average:").append(getAverage()).append("]");
     return sb.toString();
   }
 }
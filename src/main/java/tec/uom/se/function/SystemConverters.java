@@ -0,0 +1,104 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractQuantity;
+
+/**
+ * Caches the converters from units to their {@link Unit#getSystemUnit() system unit}, so that quantities can be normalized repeatedly without
+ * rebuilding converters. The cache is shared and thread-safe, it holds at most {@link #MAX_SIZE} units (further units are converted without being
+ * cached).
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class SystemConverters {
+
+  /**
+   * The maximum number of cached units.
+   */
+  static final int MAX_SIZE = 1024;
+
+  private static final Map<Unit<?>, UnitConverter> CACHE = new ConcurrentHashMap<>();
+
+  private SystemConverters() {
+  }
+
+  /**
+   * Returns the converter from the specified unit to its system unit.
+   *
+   * @param unit
+   *          the unit to convert from.
+   * @return <code>unit.getConverterTo(unit.getSystemUnit())</code>
+   */
+  public static <Q extends Quantity<Q>> UnitConverter of(Unit<Q> unit) {
+    UnitConverter converter = CACHE.get(unit);
+    if (converter == null) {
+      converter = unit.getConverterTo(unit.getSystemUnit());
+      if (CACHE.size() < MAX_SIZE) {
+        CACHE.putIfAbsent(unit, converter);
+      }
+    }
+    return converter;
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in its system unit, as a <code>double</code>.
+   *
+   * @param quantity
+   *          the quantity to normalize.
+   * @return the value of the quantity in its system unit.
+   */
+  public static <Q extends Quantity<Q>> double toSystemValue(Quantity<Q> quantity) {
+    return of(quantity.getUnit()).convert(doubleValue(quantity));
+  }
+
+  /**
+   * Returns the value of the specified quantity in its own unit, without boxing for {@link AbstractQuantity} implementations.
+   *
+   * @param quantity
+   *          the quantity.
+   * @return the value as a <code>double</code>.
+   */
+  public static <Q extends Quantity<Q>> double doubleValue(Quantity<Q> quantity) {
+    if (quantity instanceof AbstractQuantity) {
+      final AbstractQuantity<Q> abstractQuantity = (AbstractQuantity<Q>) quantity;
+      return abstractQuantity.doubleValue(abstractQuantity.getUnit());
+    }
+    return quantity.getValue().doubleValue();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+/**
+ * Caches the converters from the units of the accumulated quantities to a target unit, looking each of them up once. The last converter is kept
+ * aside, as streams usually hold quantities of a single unit. Instances are not thread safe, they are owned by a single accumulator.
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class UnitConverterCache<Q extends Quantity<Q>> {
+
+  private final Unit<Q> target;
+
+  private final Map<Unit<Q>, UnitConverter> converters = new HashMap<>();
+
+  private Unit<Q> lastUnit;
+
+  private UnitConverter lastConverter;
+
+  UnitConverterCache(Unit<Q> target) {
+    this.target = target;
+  }
+
+  /**
+   * Returns the converter from the specified unit to the target unit.
+   */
+  UnitConverter from(Unit<Q> unit) {
+    if (unit != lastUnit) {
+      UnitConverter converter = converters.get(unit);
+      if (converter == null) {
+        converter = unit.getConverterTo(target);
+        converters.put(unit, converter);
+      }
+      lastUnit = unit;
+      lastConverter = converter;
+    }
+    return lastConverter;
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in the target unit.
+   */
+  double convert(Quantity<Q> quantity) {
+    return from(quantity.getUnit()).convert(SystemConverters.doubleValue(quantity));
+  }
+}
@@ -29,10 +29,12 @@
  */
 package tec.uom.se.internal.format;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.measure.format.UnitFormat;
 import javax.measure.spi.UnitFormatService;
@@ -54,13 +56,29 @@ public class DefaultUnitFormatService implements UnitFormatService, IntPriorityS
 
   private static final String DEFAULT_FORMAT = Flavor.Default.name();
 
-  private final Map<String, UnitFormat> formats = new HashMap<>();
+  /**
+   * The factories of the available formats by name. Formats are only created (and their resource bundles loaded) when first requested, the factories
+   * return the shared instance of each format.
+   */
+  private static final Map<String, Supplier<UnitFormat>> FACTORIES;
+
+  static {
+    final Map<String, Supplier<UnitFormat>> factories = new LinkedHashMap<>();
+    factories.put(DEFAULT_FORMAT, SimpleUnitFormat::getInstance);
+    factories.put(Flavor.ASCII.name(), () -> SimpleUnitFormat.getInstance(Flavor.ASCII));
+    factories.put("EBNF", EBNFUnitFormat::getInstance);
+    factories.put("Local", LocalUnitFormat::getInstance);
+    FACTORIES = Collections.unmodifiableMap(factories);
+  }
+
+  private final Map<String, Supplier<UnitFormat>> formats;
 
   public DefaultUnitFormatService() {
-    formats.put(DEFAULT_FORMAT, SimpleUnitFormat.getInstance());
-    formats.put(Flavor.ASCII.name(), SimpleUnitFormat.getInstance(Flavor.ASCII));
-    formats.put("EBNF", EBNFUnitFormat.getInstance());
-    formats.put("Local", LocalUnitFormat.getInstance());
+    this(FACTORIES);
+  }
+
+  DefaultUnitFormatService(Map<String, Supplier<UnitFormat>> formats) {
+    this.formats = formats;
   }
 
   /*
@@ -71,7 +89,8 @@ public class DefaultUnitFormatService implements UnitFormatService, IntPriorityS
   @Override
   public UnitFormat getUnitFormat(String formatName) {
     Objects.requireNonNull(formatName, "Format name required");
-    return formats.get(formatName);
+    final Supplier<UnitFormat> factory = formats.get(formatName);
+    return factory == null ? null : factory.get();
   }
 
   /*
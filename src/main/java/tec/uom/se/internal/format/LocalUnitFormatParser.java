@@ -37,7 +37,6 @@ import javax.measure.Unit;
 import tec.uom.se.AbstractUnit;
 import tec.uom.se.format.SymbolMap;
 import tec.uom.se.function.LogConverter;
-import tec.uom.se.unit.MetricPrefix;
 
 /**
  * @deprecated use {@link UnitFormatParser} FIXME there are some details e.g. Exception handling that are different, try to resolve or keep LUFP
@@ -279,18 +278,8 @@ public final class LocalUnitFormatParser {
         }
       case UNIT_IDENTIFIER:
         token = consumeToken(UNIT_IDENTIFIER);
-        Unit unit = symbols.getUnit(token.image);
+        Unit unit = symbols.getPrefixedUnit(token.image);
         if (unit == null) {
-          MetricPrefix prefix = symbols.getPrefix(token.image);
-          if (prefix != null) {
-            String prefixSymbol = symbols.getSymbol(prefix);
-            unit = symbols.getUnit(token.image.substring(prefixSymbol.length()));
-            if (unit != null) {
-              {
-                return unit.transform(prefix.getConverter());
-              }
-            }
-          }
           {
             throw new TokenException();
           }
@@ -34,7 +34,6 @@ import javax.measure.Unit;
 import tec.uom.se.AbstractUnit;
 import tec.uom.se.format.SymbolMap;
 import tec.uom.se.function.LogConverter;
-import tec.uom.se.unit.MetricPrefix;
 
 /** */
 public final class UnitFormatParser implements UnitTokenConstants {
@@ -308,19 +307,8 @@ public final class UnitFormatParser implements UnitTokenConstants {
         // break;
       case UNIT_IDENTIFIER:
         token = jj_consume_token(UNIT_IDENTIFIER);
-        Unit<?> unit = symbols.getUnit(token.image);
+        Unit<?> unit = symbols.getPrefixedUnit(token.image);
         if (unit == null) {
-          MetricPrefix prefix = symbols.getPrefix(token.image);
-          if (prefix != null) {
-            String prefixSymbol = symbols.getSymbol(prefix);
-            unit = symbols.getUnit(token.image.substring(prefixSymbol.length()));
-            if (unit != null) {
-              {
-                if (true)
-                  return unit.transform(prefix.getConverter());
-              }
-            }
-          }
           {
             if (true)
               throw new TokenException();
@@ -651,16 +639,20 @@ public final class UnitFormatParser implements UnitTokenConstants {
       jj_2_rtns[i] = new JJCalls();
   }
 
-  /** Reinitialise. */
-  // private void reInit(java.io.Reader stream) {
-  // jj_input_stream.reInit(stream, 1, 1);
-  // token_source.reInit(jj_input_stream);
-  // token = new Token();
-  // jj_ntk = -1;
-  // jj_gen = 0;
-  // for (int i = 0; i < 19; i++) jj_la1[i] = -1;
-  // for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  // }
+  /**
+   * Reinitialise, so that the same parser (and its character buffers) can be reused for another input.
+   */
+  public void ReInit(java.io.Reader stream) {
+    jj_input_stream.ReInit(stream, 1, 1);
+    token_source.ReInit(jj_input_stream);
+    token = new Token();
+    jj_ntk = -1;
+    jj_gen = 0;
+    for (int i = 0; i < 19; i++)
+      jj_la1[i] = -1;
+    for (int i = 0; i < jj_2_rtns.length; i++)
+      jj_2_rtns[i] = new JJCalls();
+  }
 
   /** Constructor with generated Token Manager. */
   UnitFormatParser(UnitTokenManager tm) {
@@ -40,11 +40,12 @@ import javax.measure.Unit;
 import tec.uom.se.AbstractConverter;
 import tec.uom.se.AbstractQuantity;
 import tec.uom.se.ComparableQuantity;
+import tec.uom.se.Precision;
 
 /**
  * An amount of quantity, implementation of {@link ComparableQuantity} that uses {@link BigDecimal} as implementation of {@link Number}, this object
  * is immutable. Note: all operations which involves {@link Number}, this implementation will convert to {@link BigDecimal}, and all operation of
- * BigDecimal will use {@link MathContext#DECIMAL128}.
+ * BigDecimal will use the {@link Precision#current() current} math context ({@link MathContext#DECIMAL128} by default).
  *
  * @param <Q>
  *          The type of the quantity.
@@ -53,7 +54,7 @@ import tec.uom.se.ComparableQuantity;
  * @see AbstractQuantity
  * @see Quantity
  * @see ComparableQuantity
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -85,45 +86,50 @@ final class DecimalQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> i
 
   @Override
   public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
-    return (getUnit().equals(unit)) ? value : ((AbstractConverter) unit.getConverterTo(unit)).convert(value, ctx);
+    return (getUnit().equals(unit)) ? value : ((AbstractConverter) getUnit().getConverterTo(unit)).convert(value, ctx);
   }
 
   @Override
   public ComparableQuantity<Q> add(Quantity<Q> that) {
-    if (getUnit().equals(that.getUnit())) {
-      return Quantities.getQuantity(value.add(Equalizer.toBigDecimal(that.getValue()), MathContext.DECIMAL128), getUnit());
-    }
-    Quantity<Q> converted = that.to(getUnit());
-    return Quantities.getQuantity(value.add(Equalizer.toBigDecimal(converted.getValue())), getUnit());
+    final MathContext ctx = Precision.current();
+    return Quantities.getQuantity(value.add(decimalValueOf(that, ctx), ctx), getUnit());
   }
 
   @Override
   public ComparableQuantity<Q> subtract(Quantity<Q> that) {
-    if (getUnit().equals(that.getUnit())) {
-      return Quantities.getQuantity(value.subtract(Equalizer.toBigDecimal(that.getValue()), MathContext.DECIMAL128), getUnit());
-    }
-    Quantity<Q> converted = that.to(getUnit());
-    return Quantities.getQuantity(value.subtract(Equalizer.toBigDecimal(converted.getValue()), MathContext.DECIMAL128), getUnit());
+    final MathContext ctx = Precision.current();
+    return Quantities.getQuantity(value.subtract(decimalValueOf(that, ctx), ctx), getUnit());
   }
 
   @Override
   public ComparableQuantity<?> multiply(Quantity<?> that) {
-    return new DecimalQuantity(value.multiply(Equalizer.toBigDecimal(that.getValue()), MathContext.DECIMAL128), getUnit().multiply(that.getUnit()));
+    return new DecimalQuantity(value.multiply(Equalizer.toBigDecimal(that.getValue()), Precision.current()), getUnit().multiply(that.getUnit()));
   }
 
   @Override
   public ComparableQuantity<Q> multiply(Number that) {
-    return Quantities.getQuantity(value.multiply(Equalizer.toBigDecimal(that), MathContext.DECIMAL128), getUnit());
+    return Quantities.getQuantity(value.multiply(Equalizer.toBigDecimal(that), Precision.current()), getUnit());
   }
 
   @Override
   public ComparableQuantity<Q> divide(Number that) {
-    return Quantities.getQuantity(value.divide(Equalizer.toBigDecimal(that), MathContext.DECIMAL128), getUnit());
+    return Quantities.getQuantity(value.divide(Equalizer.toBigDecimal(that), Precision.current()), getUnit());
   }
 
   @Override
   public ComparableQuantity<Q> inverse() {
-    return (ComparableQuantity<Q>) Quantities.getQuantity(BigDecimal.ONE.divide(value), getUnit().inverse());
+    return (ComparableQuantity<Q>) Quantities.getQuantity(BigDecimal.ONE.divide(value, Precision.current()), getUnit().inverse());
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in this quantity's unit, converting directly on the decimal value with the specified context.
+   */
+  private BigDecimal decimalValueOf(Quantity<Q> that, MathContext ctx) {
+    final BigDecimal decimal = Equalizer.toBigDecimal(that.getValue());
+    if (getUnit().equals(that.getUnit())) {
+      return decimal;
+    }
+    return ((AbstractConverter) that.getUnit().getConverterTo(getUnit())).convert(decimal, ctx);
   }
 
   @Override
@@ -142,7 +148,7 @@ final class DecimalQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> i
 
   @Override
   public ComparableQuantity<?> divide(Quantity<?> that) {
-    return new DecimalQuantity(value.divide(Equalizer.toBigDecimal(that.getValue()), MathContext.DECIMAL128), getUnit().divide(that.getUnit()));
+    return new DecimalQuantity(value.divide(Equalizer.toBigDecimal(that.getValue()), Precision.current()), getUnit().divide(that.getUnit()));
   }
 
   /*
@@ -147,10 +147,20 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> im
     if (this == obj) {
       return true;
     }
+    if (obj instanceof DoubleQuantity) {
+      final DoubleQuantity<?> that = (DoubleQuantity<?>) obj;
+      return value == that.value && Objects.equals(getUnit(), that.getUnit());
+    }
     if (obj instanceof Quantity<?>) {
       Quantity<?> that = (Quantity<?>) obj;
       return Objects.equals(getUnit(), that.getUnit()) && Equalizer.hasEquality(value, that.getValue());
     }
     return false;
   }
+
+  @Override
+  public int hashCode() {
+    // 0.0 == -0.0 in equals, so both zeros must hash alike
+    return 31 * (31 + Objects.hashCode(getUnit())) + Double.hashCode(value == 0d ? 0d : value);
+  }
 }
@@ -0,0 +1,467 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.Precision;
+import tec.uom.se.function.RationalConverter;
+
+/**
+ * An amount of quantity, implementation of {@link ComparableQuantity} that stores its value as a <code>long</code> mantissa and a decimal scale (the
+ * value being <code>mantissa &times; 10<sup>-scale</sup></code>), this object is immutable.
+ *
+ * <p>
+ * Additions and subtractions are exact (an {@link ArithmeticException} is raised on overflow), the result being stated with the larger of both
+ * scales. Multiplications, divisions and inversions keep the scale and round according to the {@link RoundingMode} of this quantity.
+ * </p>
+ *
+ * <p>
+ * Conversions through a rational factor <code>dividend / divisor</code> (e.g. {@link tec.uom.se.unit.MetricPrefix metric prefixes},
+ * {@link RationalConverter}) are performed in integer arithmetic. Their result is stated with the scale of the converted quantity plus the number of
+ * decimal digits of the divisor (<code>&lceil;log<sub>10</sub>(divisor)&rceil;</code>), at most {@link #MAX_SCALE}, and rounded according to the
+ * rounding mode: <code>100 s</code> at scale 0 is <code>0.0278 h</code> (divisor 3600), <code>1.5 m</code> is <code>0.0015 km</code>. Other
+ * conversions go through {@link BigDecimal} using the {@link Precision#current() current} math context and keep the scale of the converted quantity.
+ * </p>
+ *
+ * <p>
+ * Fixed point quantities are only equal to fixed point quantities, use {@link #isEquivalentTo(Quantity)} to compare them numerically with other
+ * implementations.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @see Quantities#getQuantity(long, int, RoundingMode, Unit)
+ * @version 1.0
+ * @since 1.0.11
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class FixedPointQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> implements Serializable {
+
+  private static final long serialVersionUID = -4207658932165413624L;
+
+  /**
+   * The maximum scale, <code>10<sup>MAX_SCALE</sup></code> being the largest power of ten representable as a <code>long</code>.
+   */
+  static final int MAX_SCALE = 18;
+
+  private static final long[] POW10 = new long[MAX_SCALE + 1];
+
+  static {
+    POW10[0] = 1L;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POW10[i] = POW10[i - 1] * 10L;
+    }
+  }
+
+  private final long mantissa;
+
+  private final int scale;
+
+  private final RoundingMode roundingMode;
+
+  FixedPointQuantity(long mantissa, int scale, RoundingMode roundingMode, Unit<Q> unit) {
+    super(unit);
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+    }
+    this.mantissa = mantissa;
+    this.scale = scale;
+    this.roundingMode = Objects.requireNonNull(roundingMode);
+  }
+
+  /**
+   * Returns the specified decimal value rounded to the specified scale.
+   */
+  static <Q extends Quantity<Q>> FixedPointQuantity<Q> of(BigDecimal value, int scale, RoundingMode roundingMode, Unit<Q> unit) {
+    return new FixedPointQuantity<>(value.setScale(scale, roundingMode).unscaledValue().longValueExact(), scale, roundingMode, unit);
+  }
+
+  private FixedPointQuantity<Q> with(long newMantissa, int newScale) {
+    return new FixedPointQuantity<>(newMantissa, newScale, roundingMode, getUnit());
+  }
+
+  @Override
+  public BigDecimal getValue() {
+    return BigDecimal.valueOf(mantissa, scale);
+  }
+
+  /**
+   * Returns the unscaled value of this quantity.
+   *
+   * @return the mantissa.
+   */
+  long getMantissa() {
+    return mantissa;
+  }
+
+  /**
+   * Returns the number of decimal digits of this quantity.
+   *
+   * @return the scale.
+   */
+  int getScale() {
+    return scale;
+  }
+
+  @Override
+  public double doubleValue(Unit<Q> unit) {
+    final double value = (scale == 0) ? mantissa : (double) mantissa / POW10[scale];
+    return (getUnit().equals(unit)) ? value : getUnit().getConverterTo(unit).convert(value);
+  }
+
+  @Override
+  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
+    return (getUnit().equals(unit)) ? getValue() : ((AbstractConverter) getUnit().getConverterTo(unit)).convert(getValue(), ctx);
+  }
+
+  @Override
+  protected long longValue(Unit<Q> unit) {
+    if (getUnit().equals(unit)) {
+      return rescale(mantissa, scale, 0, RoundingMode.DOWN);
+    }
+    return convert(unit).longValue(unit);
+  }
+
+  @Override
+  public ComparableQuantity<Q> to(Unit<Q> unit) {
+    return convert(unit);
+  }
+
+  /**
+   * Converts this quantity using integer arithmetic if the conversion factor is rational, see the class description for the scale of the result.
+   */
+  private FixedPointQuantity<Q> convert(Unit<Q> unit) {
+    if (unit.equals(getUnit())) {
+      return this;
+    }
+    final UnitConverter converter = getUnit().getConverterTo(unit);
+    final long[] factor = rationalFactor(converter);
+    if (factor != null) {
+      return convert(factor, Math.min(scale + digits(factor[1]), MAX_SCALE), unit);
+    }
+    return of(decimalValue(unit, Precision.current()), scale, roundingMode, unit);
+  }
+
+  /**
+   * Returns this quantity multiplied by the rational factor <code>{dividend, divisor}</code>, stated in the specified unit with the specified scale.
+   */
+  private FixedPointQuantity<Q> convert(long[] factor, int targetScale, Unit<Q> unit) {
+    try {
+      final long scaled = Math.multiplyExact(Math.multiplyExact(mantissa, factor[0]), pow10(targetScale - scale));
+      return new FixedPointQuantity<>(divide(scaled, factor[1], roundingMode), targetScale, roundingMode, unit);
+    } catch (ArithmeticException overflow) {
+      final BigDecimal value = getValue().multiply(BigDecimal.valueOf(factor[0])).divide(BigDecimal.valueOf(factor[1]), targetScale, roundingMode);
+      return new FixedPointQuantity<>(value.unscaledValue().longValueExact(), targetScale, roundingMode, unit);
+    }
+  }
+
+  /**
+   * Returns the number of decimal digits needed by the fractional part of a quotient by the specified divisor, that is the smallest <code>n</code>
+   * such that <code>10<sup>n</sup> &ge; divisor</code>.
+   */
+  private static int digits(long divisor) {
+    int n = 0;
+    while (n < MAX_SCALE && POW10[n] < divisor) {
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Returns the specified quantity as a fixed point quantity stated in this quantity's unit.
+   */
+  private FixedPointQuantity<Q> fixedPointOf(Quantity<Q> that) {
+    if (that instanceof FixedPointQuantity) {
+      return ((FixedPointQuantity<Q>) that).convert(getUnit());
+    }
+    final Number value = getUnit().equals(that.getUnit()) ? that.getValue() : that.to(getUnit()).getValue();
+    return of(Equalizer.toBigDecimal(value), scale, roundingMode, getUnit());
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    final FixedPointQuantity<Q> other = fixedPointOf(that);
+    final int newScale = Math.max(scale, other.scale);
+    return with(Math.addExact(rescale(mantissa, scale, newScale, roundingMode), rescale(other.mantissa, other.scale, newScale, roundingMode)),
+        newScale);
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    final FixedPointQuantity<Q> other = fixedPointOf(that);
+    final int newScale = Math.max(scale, other.scale);
+    return with(Math.subtractExact(rescale(mantissa, scale, newScale, roundingMode), rescale(other.mantissa, other.scale, newScale, roundingMode)),
+        newScale);
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    if (isIntegral(that)) {
+      return with(Math.multiplyExact(mantissa, that.longValue()), scale);
+    }
+    final BigDecimal decimal = Equalizer.toBigDecimal(that);
+    if (decimal.unscaledValue().bitLength() < Long.SIZE) {
+      return with(product(mantissa, scale, decimal.unscaledValue().longValue(), decimal.scale(), scale, roundingMode), scale);
+    }
+    return with(getValue().multiply(decimal).setScale(scale, roundingMode).unscaledValue().longValueExact(), scale);
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    if (isIntegral(that)) {
+      return with(divide(mantissa, that.longValue(), roundingMode), scale);
+    }
+    final BigDecimal decimal = Equalizer.toBigDecimal(that);
+    if (decimal.unscaledValue().bitLength() < Long.SIZE) {
+      return with(quotient(mantissa, scale, decimal.unscaledValue().longValue(), decimal.scale(), scale, roundingMode), scale);
+    }
+    return with(getValue().divide(decimal, scale, roundingMode).unscaledValue().longValueExact(), scale);
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    final Unit<?> unit = getUnit().multiply(that.getUnit());
+    if (that instanceof FixedPointQuantity) {
+      final FixedPointQuantity<?> other = (FixedPointQuantity<?>) that;
+      final int newScale = Math.max(scale, other.scale);
+      return new FixedPointQuantity(product(mantissa, scale, other.mantissa, other.scale, newScale, roundingMode), newScale, roundingMode, unit);
+    }
+    return new FixedPointQuantity(((FixedPointQuantity<Q>) multiply(that.getValue())).mantissa, scale, roundingMode, unit);
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    final Unit<?> unit = getUnit().divide(that.getUnit());
+    if (that instanceof FixedPointQuantity) {
+      final FixedPointQuantity<?> other = (FixedPointQuantity<?>) that;
+      final int newScale = Math.max(scale, other.scale);
+      return new FixedPointQuantity(quotient(mantissa, scale, other.mantissa, other.scale, newScale, roundingMode), newScale, roundingMode, unit);
+    }
+    return new FixedPointQuantity(((FixedPointQuantity<Q>) divide(that.getValue())).mantissa, scale, roundingMode, unit);
+  }
+
+  @Override
+  public ComparableQuantity<?> inverse() {
+    return new FixedPointQuantity(quotient(1L, 0, mantissa, scale, scale, roundingMode), scale, roundingMode, getUnit().inverse());
+  }
+
+  @Override
+  public boolean isBig() {
+    return true;
+  }
+
+  /**
+   * Compares this quantity numerically with the specified quantity stated in the unit of this quantity, whatever its implementation.
+   */
+  @Override
+  public int compareTo(Quantity<Q> that) {
+    if (that instanceof FixedPointQuantity && getUnit().equals(that.getUnit())) {
+      return compare(this, (FixedPointQuantity<Q>) that);
+    }
+    final Number value = getUnit().equals(that.getUnit()) ? that.getValue() : that.to(getUnit()).getValue();
+    return getValue().compareTo(IntegralQuantity.isIntegral(value) ? BigDecimal.valueOf(value.longValue()) : Equalizer.toBigDecimal(value));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof FixedPointQuantity) {
+      final FixedPointQuantity<?> that = (FixedPointQuantity<?>) obj;
+      return Objects.equals(getUnit(), that.getUnit()) && compare(this, that) == 0;
+    }
+    return false;
+  }
+
+  /**
+   * Returns a hash code consistent with {@link #equals(Object)}, <code>1.0</code> and <code>1.00</code> having the same hash code.
+   */
+  @Override
+  public int hashCode() {
+    long m = mantissa;
+    int s = scale;
+    while (s > 0 && m % 10 == 0) {
+      m /= 10;
+      s--;
+    }
+    return (31 * getUnit().hashCode() + Long.hashCode(m)) * 31 + s;
+  }
+
+  private static int compare(FixedPointQuantity<?> a, FixedPointQuantity<?> b) {
+    final int s = Math.max(a.scale, b.scale);
+    try {
+      return Long.compare(rescale(a.mantissa, a.scale, s, RoundingMode.UNNECESSARY), rescale(b.mantissa, b.scale, s, RoundingMode.UNNECESSARY));
+    } catch (ArithmeticException overflow) {
+      return a.getValue().compareTo(b.getValue());
+    }
+  }
+
+  private static boolean isIntegral(Number number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+  }
+
+  /**
+   * Returns the rational factor <code>{dividend, divisor}</code> of the specified converter, or <code>null</code> if the converter is not a
+   * (concatenation of) rational converters or if its factor does not fit in <code>long</code> values.
+   */
+  static long[] rationalFactor(UnitConverter converter) {
+    long dividend = 1L;
+    long divisor = 1L;
+    for (UnitConverter step : converter.getConversionSteps()) {
+      if (step instanceof RationalConverter) {
+        final RationalConverter rational = (RationalConverter) step;
+        if (rational.getDividend().bitLength() >= Long.SIZE || rational.getDivisor().bitLength() >= Long.SIZE) {
+          return null;
+        }
+        try {
+          dividend = Math.multiplyExact(dividend, rational.getDividend().longValue());
+          divisor = Math.multiplyExact(divisor, rational.getDivisor().longValue());
+        } catch (ArithmeticException overflow) {
+          return null;
+        }
+        final long gcd = gcd(Math.abs(dividend), divisor);
+        dividend /= gcd;
+        divisor /= gcd;
+      } else if (!step.isIdentity()) {
+        return null;
+      }
+    }
+    return new long[] { dividend, divisor };
+  }
+
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      final long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
+  }
+
+  private static long pow10(int n) {
+    if (n > MAX_SCALE) {
+      throw new ArithmeticException("Overflow (10^" + n + ")");
+    }
+    return POW10[n];
+  }
+
+  /**
+   * Changes the scale of the specified mantissa.
+   */
+  static long rescale(long mantissa, int from, int to, RoundingMode roundingMode) {
+    if (to >= from) {
+      return (to == from) ? mantissa : Math.multiplyExact(mantissa, pow10(to - from));
+    }
+    if (from - to > MAX_SCALE) {
+      return BigDecimal.valueOf(mantissa, from).setScale(to, roundingMode).unscaledValue().longValueExact();
+    }
+    return divide(mantissa, POW10[from - to], roundingMode);
+  }
+
+  /**
+   * Returns the mantissa at scale <code>s</code> of <code>(m1, s1) &times; (m2, s2)</code>.
+   */
+  private static long product(long m1, int s1, long m2, int s2, int s, RoundingMode roundingMode) {
+    try {
+      return rescale(Math.multiplyExact(m1, m2), s1 + s2, s, roundingMode);
+    } catch (ArithmeticException overflow) {
+      return BigDecimal.valueOf(m1, s1).multiply(BigDecimal.valueOf(m2, s2)).setScale(s, roundingMode).unscaledValue().longValueExact();
+    }
+  }
+
+  /**
+   * Returns the mantissa at scale <code>s</code> of <code>(m1, s1) / (m2, s2)</code>.
+   */
+  private static long quotient(long m1, int s1, long m2, int s2, int s, RoundingMode roundingMode) {
+    if (m2 == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    try {
+      final int e = s2 + s - s1;
+      return (e >= 0) ? divide(Math.multiplyExact(m1, pow10(e)), m2, roundingMode) : divide(m1, Math.multiplyExact(m2, pow10(-e)), roundingMode);
+    } catch (ArithmeticException overflow) {
+      return BigDecimal.valueOf(m1, s1).divide(BigDecimal.valueOf(m2, s2), s, roundingMode).unscaledValue().longValueExact();
+    }
+  }
+
+  /**
+   * Divides two <code>long</code> values using the specified rounding mode.
+   */
+  static long divide(long p, long q, RoundingMode roundingMode) {
+    if (q == -1L) {
+      return Math.negateExact(p); // Long.MIN_VALUE / -1 overflows
+    }
+    final long div = p / q;
+    final long rem = p - q * div;
+    if (rem == 0) {
+      return div;
+    }
+    final int signum = 1 | (int) ((p ^ q) >> (Long.SIZE - 1));
+    final boolean increment;
+    switch (roundingMode) {
+      case UNNECESSARY:
+        throw new ArithmeticException("Rounding necessary");
+      case DOWN:
+        increment = false;
+        break;
+      case UP:
+        increment = true;
+        break;
+      case CEILING:
+        increment = signum > 0;
+        break;
+      case FLOOR:
+        increment = signum < 0;
+        break;
+      default: // HALF_EVEN, HALF_UP, HALF_DOWN
+        final long absRem = Math.abs(rem);
+        final long cmpRemToHalfDivisor = absRem - (Math.abs(q) - absRem);
+        if (cmpRemToHalfDivisor == 0) {
+          increment = roundingMode == RoundingMode.HALF_UP || (roundingMode == RoundingMode.HALF_EVEN && (div & 1) != 0);
+        } else {
+          increment = cmpRemToHalfDivisor > 0;
+        }
+    }
+    return increment ? div + signum : div;
+  }
+}
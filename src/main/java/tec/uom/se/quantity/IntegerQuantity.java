@@ -29,15 +29,10 @@
  */
 package tec.uom.se.quantity;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.util.Objects;
-
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
 import tec.uom.se.AbstractQuantity;
-import tec.uom.se.ComparableQuantity;
 
 /**
  * An amount of quantity, consisting of an integer and a Unit. IntegerQuantity objects are immutable.
@@ -51,7 +46,7 @@ import tec.uom.se.ComparableQuantity;
  * @version 0.4, $Date: 2017-05-28 $
  * @since 1.0.7
  */
-final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
+final class IntegerQuantity<Q extends Quantity<Q>> extends IntegralQuantity<Q> {
 
   /**
      * 
@@ -70,77 +65,8 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
     return value;
   }
 
-  public double doubleValue(Unit<Q> unit) {
-    return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
-  }
-
   @Override
-  public long longValue(Unit<Q> unit) {
-    double result = doubleValue(unit);
-    if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
-      throw new ArithmeticException("Overflow (" + result + ")");
-    }
-    return (long) result;
-  }
-
-  public ComparableQuantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().intValue(), getUnit());
-  }
-
-  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().intValue(), getUnit());
-  }
-
-  @SuppressWarnings({ "rawtypes", "unchecked" })
-  public ComparableQuantity<?> multiply(Quantity<?> that) {
-    return new IntegerQuantity(value * that.getValue().intValue(), getUnit().multiply(that.getUnit()));
-  }
-
-  public ComparableQuantity<Q> multiply(Number that) {
-    return NumberQuantity.of(value * that.intValue(), getUnit());
-  }
-
-  public ComparableQuantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((double) value / that.getValue().doubleValue(), getUnit().divide(that.getUnit()));
-  }
-
-  @SuppressWarnings("unchecked")
-  public AbstractQuantity<Q> inverse() {
-    return (AbstractQuantity<Q>) NumberQuantity.of(1 / value, getUnit().inverse());
-  }
-
-  public ComparableQuantity<Q> divide(Number that) {
-    return NumberQuantity.of(value / that.doubleValue(), getUnit());
-  }
-
-  /*
-   * (non-Javadoc)
-   * 
-   * @see AbstractQuantity#equals(java.lang.Object)
-   */
-  @Override
-  public boolean equals(Object obj) {
-    if (obj == null)
-      return false;
-    if (obj == this)
-      return true;
-    if (obj instanceof Quantity<?>) {
-      Quantity<?> that = (Quantity<?>) obj;
-      return Objects.equals(getUnit(), that.getUnit()) && Equalizer.hasEquality(value, that.getValue());
-    }
-    return false;
-  }
-
-  @Override
-  public boolean isBig() {
-    return false;
-  }
-
-  @Override
-  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
-    // TODO Auto-generated method stub
-    return null;
+  long asLong() {
+    return value;
   }
 }
@@ -0,0 +1,284 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.function.RationalConverter;
+
+/**
+ * Base class of the quantities backed by an integral primitive ({@link LongQuantity}, {@link IntegerQuantity}, {@link ShortQuantity} and
+ * {@link ByteQuantity}).
+ *
+ * <p>
+ * Additions and subtractions of integral quantities stated in the same unit (or in a unit converted to the unit of this quantity by an integral
+ * factor, e.g. <code>1 mm + 1 m</code>), multiplications by integral numbers and exact divisions are performed in <code>long</code> arithmetic, the
+ * result being an {@link IntegerQuantity} or a {@link LongQuantity} depending on its magnitude. Operations that would overflow are delegated to
+ * {@link DecimalQuantity}, other additions and subtractions to {@link NumberQuantity} and the remaining operations (e.g. inexact divisions) to
+ * {@link DoubleQuantity}, as the integral quantities did before.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+abstract class IntegralQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
+
+  private static final long serialVersionUID = -1764329846226508719L;
+
+  IntegralQuantity(Unit<Q> unit) {
+    super(unit);
+  }
+
+  /**
+   * Returns the value of this quantity as a <code>long</code>.
+   *
+   * @return the primitive value.
+   */
+  abstract long asLong();
+
+  /**
+   * Returns an {@link IntegerQuantity} if the specified value fits in an <code>int</code>, a {@link LongQuantity} otherwise.
+   */
+  static <Q extends Quantity<Q>> AbstractQuantity<Q> of(long value, Unit<Q> unit) {
+    return ((int) value == value) ? new IntegerQuantity<>((int) value, unit) : new LongQuantity<>(value, unit);
+  }
+
+  static boolean isIntegral(Number number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+  }
+
+  private static boolean isIntegral(Quantity<?> quantity) {
+    return quantity instanceof IntegralQuantity || isIntegral(quantity.getValue());
+  }
+
+  private static long longValueOf(Quantity<?> quantity) {
+    return (quantity instanceof IntegralQuantity) ? ((IntegralQuantity<?>) quantity).asLong() : quantity.getValue().longValue();
+  }
+
+  /**
+   * Returns the integral factor converting the specified quantity to the unit of this quantity, or <code>null</code> if the specified quantity is not
+   * integral or its conversion is not an integral scaling.
+   */
+  private BigInteger integralFactorOf(Quantity<Q> that) {
+    if (!isIntegral(that)) {
+      return null;
+    }
+    if (getUnit().equals(that.getUnit())) {
+      return BigInteger.ONE;
+    }
+    final UnitConverter converter = that.getUnit().getConverterTo(getUnit());
+    if (converter instanceof RationalConverter) {
+      final RationalConverter rational = (RationalConverter) converter;
+      return BigInteger.ONE.equals(rational.getDivisor()) ? rational.getDividend() : null;
+    }
+    return converter.isIdentity() ? BigInteger.ONE : null;
+  }
+
+  /**
+   * Returns the value of the specified quantity scaled by the specified integral factor.
+   *
+   * @throws ArithmeticException
+   *           if the result overflows a <code>long</code>.
+   */
+  private static long scaledValueOf(Quantity<?> quantity, BigInteger factor) throws ArithmeticException {
+    final long value = longValueOf(quantity);
+    return BigInteger.ONE.equals(factor) ? value : Math.multiplyExact(value, factor.longValueExact());
+  }
+
+  private DecimalQuantity<Q> toDecimalQuantity() {
+    return new DecimalQuantity<>(BigDecimal.valueOf(asLong()), getUnit());
+  }
+
+  private NumberQuantity<Q> toNumberQuantity() {
+    return new NumberQuantity<>(asLong(), getUnit());
+  }
+
+  private DoubleQuantity<Q> toDoubleQuantity() {
+    return new DoubleQuantity<>(asLong(), getUnit());
+  }
+
+  @Override
+  public double doubleValue(Unit<Q> unit) {
+    return (getUnit().equals(unit)) ? asLong() : getUnit().getConverterTo(unit).convert(asLong());
+  }
+
+  @Override
+  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
+    final BigDecimal decimal = BigDecimal.valueOf(asLong());
+    return (getUnit().equals(unit)) ? decimal : ((AbstractConverter) getUnit().getConverterTo(unit)).convert(decimal, ctx);
+  }
+
+  @Override
+  public long longValue(Unit<Q> unit) {
+    if (getUnit().equals(unit)) {
+      return asLong();
+    }
+    return super.longValue(unit);
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    final BigInteger factor = integralFactorOf(that);
+    if (factor == null) {
+      return toNumberQuantity().add(that);
+    }
+    try {
+      return of(Math.addExact(asLong(), scaledValueOf(that, factor)), getUnit());
+    } catch (ArithmeticException overflow) {
+      return toDecimalQuantity().add(that);
+    }
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    final BigInteger factor = integralFactorOf(that);
+    if (factor == null) {
+      return toNumberQuantity().subtract(that);
+    }
+    try {
+      return of(Math.subtractExact(asLong(), scaledValueOf(that, factor)), getUnit());
+    } catch (ArithmeticException overflow) {
+      return toDecimalQuantity().subtract(that);
+    }
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    if (!isIntegral(that)) {
+      return toDoubleQuantity().multiply(that);
+    }
+    try {
+      return of(Math.multiplyExact(asLong(), that.longValue()), getUnit());
+    } catch (ArithmeticException overflow) {
+      return toDecimalQuantity().multiply(that);
+    }
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    if (!isIntegral(that)) {
+      return toDoubleQuantity().multiply(that);
+    }
+    try {
+      return of(Math.multiplyExact(asLong(), longValueOf(that)), (Unit) getUnit().multiply(that.getUnit()));
+    } catch (ArithmeticException overflow) {
+      return toDecimalQuantity().multiply(that);
+    }
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    if (isIntegral(that)) {
+      final long divisor = that.longValue();
+      if (isOverflow(asLong(), divisor)) {
+        return toDecimalQuantity().divide(that);
+      }
+      if (isExactQuotient(asLong(), divisor)) {
+        return of(asLong() / divisor, getUnit());
+      }
+    }
+    return toDoubleQuantity().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    if (isIntegral(that)) {
+      final long divisor = longValueOf(that);
+      if (isOverflow(asLong(), divisor)) {
+        return toDecimalQuantity().divide(that);
+      }
+      if (isExactQuotient(asLong(), divisor)) {
+        return of(asLong() / divisor, (Unit) getUnit().divide(that.getUnit()));
+      }
+    }
+    return toDoubleQuantity().divide(that);
+  }
+
+  private static boolean isOverflow(long dividend, long divisor) {
+    return dividend == Long.MIN_VALUE && divisor == -1;
+  }
+
+  private static boolean isExactQuotient(long dividend, long divisor) {
+    return divisor != 0 && dividend % divisor == 0;
+  }
+
+  @Override
+  public ComparableQuantity<?> inverse() {
+    final long value = asLong();
+    if (value == 1 || value == -1) {
+      return of(value, (Unit) getUnit().inverse());
+    }
+    return toDoubleQuantity().inverse();
+  }
+
+  @Override
+  public boolean isBig() {
+    return false;
+  }
+
+  /**
+   * Integral quantities are equal if they have the same value and unit, whatever their primitive storage (<code>1 m</code> as an
+   * {@link IntegerQuantity} equals <code>1 m</code> as a {@link LongQuantity}). The comparison with the other {@link AbstractQuantity}
+   * implementations is delegated to them, so that equality stays symmetric.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof IntegralQuantity) {
+      final IntegralQuantity<?> that = (IntegralQuantity<?>) obj;
+      return asLong() == that.asLong() && Objects.equals(getUnit(), that.getUnit());
+    }
+    return (obj instanceof AbstractQuantity) && obj.equals(this);
+  }
+
+  /**
+   * Returns a hash code consistent with {@link #equals(Object)} among integral quantities, those of the same value and unit having the same hash code
+   * whatever their primitive storage.
+   */
+  @Override
+  public int hashCode() {
+    return 31 * getUnit().hashCode() + Long.hashCode(asLong());
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.AbstractUnit;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.Precision;
+
+/**
+ * A quantity whose multiplications, divisions, inversions and conversions are recorded instead of being performed eagerly. Each recorded operation is
+ * folded into a single term as it is recorded: the numeric factors into one running <code>double</code> (or {@link BigDecimal} using the
+ * {@link Precision#current() current} math context if any operand is a big number) and the units into a map of exponents, so that the resulting
+ * {@link Unit} is built only once, on first access to the value or unit. Recording an operation costs time proportional to the number of distinct
+ * units, whatever the length of the chain. A conversion is kept pending until the value or unit is accessed, or until another operation is recorded.
+ * Additions and subtractions evaluate the quantity.
+ *
+ * <p>
+ * The unit held by {@link AbstractQuantity} is <code>null</code>, {@link #getUnit()} (the only accessor of that field) being overridden to return the
+ * evaluated unit. This object is immutable, the evaluated result is cached.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @see Quantities#lazy(Quantity)
+ * @version 1.0
+ * @since 1.0.11
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class LazyQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
+
+  private static final long serialVersionUID = -2867342163546254937L;
+
+  private final transient Term term;
+
+  private transient volatile AbstractQuantity<Q> result;
+
+  private LazyQuantity(Term term) {
+    super(null);
+    this.term = term;
+  }
+
+  static <Q extends Quantity<Q>> LazyQuantity<Q> of(Quantity<Q> quantity) {
+    if (quantity instanceof LazyQuantity) {
+      return (LazyQuantity<Q>) quantity;
+    }
+    return new LazyQuantity<>(Term.of(quantity));
+  }
+
+  private static Term termOf(Quantity<?> quantity) {
+    return quantity instanceof LazyQuantity ? ((LazyQuantity<?>) quantity).term : Term.of(quantity);
+  }
+
+  /**
+   * Evaluates the term (once).
+   */
+  private AbstractQuantity<Q> evaluate() {
+    AbstractQuantity<Q> evaluated = result;
+    if (evaluated == null) {
+      final Term resolved = term.resolve();
+      evaluated = (AbstractQuantity<Q>) Quantities.getQuantity(resolved.value(), resolved.unit());
+      result = evaluated;
+    }
+    return evaluated;
+  }
+
+  @Override
+  public Number getValue() {
+    return evaluate().getValue();
+  }
+
+  @Override
+  public Unit<Q> getUnit() {
+    return evaluate().getUnit();
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    return evaluate().add(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    return evaluate().subtract(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    return new LazyQuantity(term.multiply(termOf(that), false));
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    return new LazyQuantity<>(term.scale(that, false));
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    return new LazyQuantity(term.multiply(termOf(that), true));
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    return new LazyQuantity<>(term.scale(that, true));
+  }
+
+  @Override
+  public ComparableQuantity<?> inverse() {
+    return new LazyQuantity(term.inverse());
+  }
+
+  @Override
+  public ComparableQuantity<Q> to(Unit<Q> unit) {
+    return new LazyQuantity<>(term.to(unit));
+  }
+
+  @Override
+  public boolean isBig() {
+    return term.big;
+  }
+
+  @Override
+  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
+    return evaluate().decimalValue(unit, ctx);
+  }
+
+  @Override
+  public double doubleValue(Unit<Q> unit) throws ArithmeticException {
+    return evaluate().doubleValue(unit);
+  }
+
+  /**
+   * Serializes the evaluated quantity instead of the recorded term.
+   */
+  private Object writeReplace() {
+    return evaluate();
+  }
+
+  private static boolean isBig(Number number) {
+    return number instanceof BigDecimal || number instanceof BigInteger;
+  }
+
+  /**
+   * The product of a numeric factor and of units raised to integer exponents, optionally pending a conversion to a target unit. Terms are immutable,
+   * their exponent maps are never modified once built.
+   */
+  private static final class Term {
+
+    private final boolean big;
+
+    private final double doubleValue;
+
+    private final BigDecimal decimalValue;
+
+    private final Map<Unit<?>, Integer> exponents;
+
+    /**
+     * The unit this term is to be converted to, <code>null</code> if no conversion is pending.
+     */
+    private final Unit<?> target;
+
+    private Term(double doubleValue, Map<Unit<?>, Integer> exponents, Unit<?> target) {
+      this.big = false;
+      this.doubleValue = doubleValue;
+      this.decimalValue = null;
+      this.exponents = exponents;
+      this.target = target;
+    }
+
+    private Term(BigDecimal decimalValue, Map<Unit<?>, Integer> exponents, Unit<?> target) {
+      this.big = true;
+      this.doubleValue = 0d;
+      this.decimalValue = decimalValue;
+      this.exponents = exponents;
+      this.target = target;
+    }
+
+    static Term of(Quantity<?> quantity) {
+      final Number value = quantity.getValue();
+      final boolean big = quantity instanceof AbstractQuantity ? ((AbstractQuantity<?>) quantity).isBig() : isBig(value);
+      final Map<Unit<?>, Integer> exponents = Collections.singletonMap(quantity.getUnit(), 1);
+      return big ? new Term(Equalizer.toBigDecimal(value), exponents, null) : new Term(value.doubleValue(), exponents, null);
+    }
+
+    Number value() {
+      return big ? decimalValue : doubleValue;
+    }
+
+    BigDecimal decimalValue() {
+      return big ? decimalValue : BigDecimal.valueOf(doubleValue);
+    }
+
+    /**
+     * Returns this term with the pending conversion (if any) performed.
+     */
+    Term resolve() {
+      if (target == null) {
+        return this;
+      }
+      final UnitConverter converter = unit().getConverterTo(target);
+      final Map<Unit<?>, Integer> exponents = Collections.singletonMap(target, 1);
+      return big ? new Term(((AbstractConverter) converter).convert(decimalValue, Precision.current()), exponents, null) : new Term(
+          converter.convert(doubleValue), exponents, null);
+    }
+
+    Term scale(Number factor, boolean divide) {
+      final Term term = resolve();
+      if (term.big || isBig(factor)) {
+        final BigDecimal decimal = Equalizer.toBigDecimal(factor);
+        final MathContext ctx = Precision.current();
+        return new Term(divide ? term.decimalValue().divide(decimal, ctx) : term.decimalValue().multiply(decimal, ctx), term.exponents, null);
+      }
+      return new Term(divide ? term.doubleValue / factor.doubleValue() : term.doubleValue * factor.doubleValue(), term.exponents, null);
+    }
+
+    Term multiply(Term that, boolean divide) {
+      final Term left = resolve();
+      final Term right = that.resolve();
+      final Map<Unit<?>, Integer> exponents = new LinkedHashMap<>(left.exponents);
+      for (Map.Entry<Unit<?>, Integer> e : right.exponents.entrySet()) {
+        final int n = divide ? -e.getValue() : e.getValue();
+        exponents.merge(e.getKey(), n, (a, b) -> (a + b == 0) ? null : a + b);
+      }
+      if (left.big || right.big) {
+        final MathContext ctx = Precision.current();
+        final BigDecimal l = left.decimalValue();
+        final BigDecimal r = right.decimalValue();
+        return new Term(divide ? l.divide(r, ctx) : l.multiply(r, ctx), exponents, null);
+      }
+      return new Term(divide ? left.doubleValue / right.doubleValue : left.doubleValue * right.doubleValue, exponents, null);
+    }
+
+    Term inverse() {
+      final Term term = resolve();
+      final Map<Unit<?>, Integer> exponents = new LinkedHashMap<>();
+      for (Map.Entry<Unit<?>, Integer> e : term.exponents.entrySet()) {
+        exponents.put(e.getKey(), -e.getValue());
+      }
+      return term.big ? new Term(BigDecimal.ONE.divide(term.decimalValue, Precision.current()), exponents, null) : new Term(1d / term.doubleValue,
+          exponents, null);
+    }
+
+    Term to(Unit<?> unit) {
+      final Term term = resolve();
+      return term.big ? new Term(term.decimalValue, term.exponents, unit) : new Term(term.doubleValue, term.exponents, unit);
+    }
+
+    /**
+     * Builds the unit of this term, ignoring any pending conversion.
+     */
+    Unit unit() {
+      Unit<?> unit = null;
+      for (Map.Entry<Unit<?>, Integer> e : exponents.entrySet()) {
+        final int n = e.getValue();
+        final Unit<?> factor = n == 1 ? e.getKey() : e.getKey().pow(n);
+        unit = unit == null ? factor : unit.multiply(factor);
+      }
+      return unit == null ? AbstractUnit.ONE : unit;
+    }
+  }
+}
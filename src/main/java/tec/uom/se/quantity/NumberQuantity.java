@@ -40,8 +40,10 @@ import javax.measure.UnconvertibleException;
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
 
+import tec.uom.se.AbstractConverter;
 import tec.uom.se.AbstractQuantity;
 import tec.uom.se.ComparableQuantity;
+import tec.uom.se.Precision;
 
 /**
  * An amount of quantity, implementation of {@link ComparableQuantity} that keep {@link Number} as possible otherwise converts to
@@ -129,19 +131,14 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> i
   @Override
   public ComparableQuantity<Q> inverse() {
 
-    return new NumberQuantity((getValue() instanceof BigDecimal ? BigDecimal.ONE.divide((BigDecimal) getValue()) : 1d / getValue().doubleValue()),
-        getUnit().inverse());
+    return new NumberQuantity((getValue() instanceof BigDecimal ? BigDecimal.ONE.divide((BigDecimal) getValue(), Precision.current())
+        : 1d / getValue().doubleValue()), getUnit().inverse());
   }
 
   @Override
   public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
-    if (value instanceof BigDecimal) {
-      return (BigDecimal) value;
-    }
-    if (value instanceof BigInteger) {
-      return new BigDecimal((BigInteger) value);
-    }
-    return BigDecimal.valueOf(value.doubleValue());
+    final BigDecimal decimal = Equalizer.toBigDecimal(value);
+    return (getUnit().equals(unit)) ? decimal : ((AbstractConverter) getUnit().getConverterTo(unit)).convert(decimal, ctx);
   }
 
   @Override
@@ -150,7 +147,7 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> i
   }
 
   private DecimalQuantity<Q> toDecimalQuantity() {
-    return new DecimalQuantity<>(BigDecimal.valueOf(value.doubleValue()), getUnit());
+    return new DecimalQuantity<>(Equalizer.toBigDecimal(value), getUnit());
   }
 
   /**
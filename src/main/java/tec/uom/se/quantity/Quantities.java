@@ -33,8 +33,12 @@ import static tec.uom.se.format.FormatBehavior.LOCALE_NEUTRAL;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.ParsePosition;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiFunction;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -82,8 +86,25 @@ public final class Quantities {
   }
 
   /**
-   * Returns the scalar measurement. When the {@link Number} was {@link BigDecimal} or {@link BigInteger} will uses {@link DecimalQuantity}, when the
-   * {@link Number} was {@link Double} will {@link DoubleQuantity} otherwise will {@link NumberQuantity}. in the specified unit.
+   * Factories of the specialized quantity implementations, by exact value class.
+   */
+  private static final Map<Class<?>, BiFunction<Number, Unit<?>, ComparableQuantity<?>>> FACTORIES = new IdentityHashMap<>();
+
+  static {
+    FACTORIES.put(Double.class, (value, unit) -> new DoubleQuantity<>(value.doubleValue(), unit));
+    FACTORIES.put(Long.class, (value, unit) -> new LongQuantity<>(value.longValue(), unit));
+    FACTORIES.put(Integer.class, (value, unit) -> new IntegerQuantity<>(value.intValue(), unit));
+    FACTORIES.put(Short.class, (value, unit) -> new ShortQuantity<>(value.shortValue(), unit));
+    FACTORIES.put(Byte.class, (value, unit) -> new ByteQuantity<>(value.byteValue(), unit));
+    FACTORIES.put(BigDecimal.class, (value, unit) -> new DecimalQuantity<>((BigDecimal) value, unit));
+    FACTORIES.put(BigInteger.class, (value, unit) -> new DecimalQuantity<>(new BigDecimal((BigInteger) value), unit));
+  }
+
+  /**
+   * Returns the scalar measurement. {@link Double}, {@link Long}, {@link Integer}, {@link Short} and {@link Byte} values use the implementation with
+   * the corresponding primitive storage, {@link BigDecimal} and {@link BigInteger} values use {@link DecimalQuantity}, any other {@link Number}
+   * (including {@link Float}, whose arithmetic is carried out in decimal rather than narrowed to <code>float</code>) uses {@link NumberQuantity}. The
+   * implementation is selected with a single lookup on the value class.
    * 
    * @param value
    *          the measurement value.
@@ -93,17 +114,73 @@ public final class Quantities {
    * @throws NullPointerException
    *           when value or unit were null
    */
+  @SuppressWarnings("unchecked")
   public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(Number value, Unit<Q> unit) {
-
     Objects.requireNonNull(value);
     Objects.requireNonNull(unit);
-    if (Double.class.isInstance(value)) {
-      return new DoubleQuantity<>(Double.class.cast(value), unit);
-    } else if (BigDecimal.class.isInstance(value)) {
-      return new DecimalQuantity<>(BigDecimal.class.cast(value), unit);
-    } else if (BigInteger.class.isInstance(value)) {
-      return new DecimalQuantity<>(new BigDecimal(BigInteger.class.cast(value)), unit);
-    }
-    return new NumberQuantity<>(value, unit);
+    final BiFunction<Number, Unit<?>, ComparableQuantity<?>> factory = FACTORIES.get(value.getClass());
+    return (factory != null) ? (ComparableQuantity<Q>) factory.apply(value, unit) : new NumberQuantity<>(value, unit);
+  }
+
+  /**
+   * Returns the fixed point measurement <code>unscaledValue &times; 10<sup>-scale</sup></code> in the specified unit. The value is stored as a
+   * <code>long</code>, additions and subtractions are exact, multiplications and divisions are rounded with {@link RoundingMode#HALF_EVEN}. For
+   * example <code>getQuantity(1234567, 6, KILOWATT_HOUR)</code> represents 1.234567 kWh (micro-kWh resolution).
+   *
+   * @param unscaledValue
+   *          the mantissa of the measurement value.
+   * @param scale
+   *          the number of decimal digits, between 0 and 18.
+   * @param unit
+   *          the measurement unit.
+   * @return the corresponding fixed point measurement.
+   * @throws IllegalArgumentException
+   *           if the scale is out of range
+   * @throws NullPointerException
+   *           when unit is null
+   * @since 1.0.11
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(long unscaledValue, int scale, Unit<Q> unit) {
+    return getQuantity(unscaledValue, scale, RoundingMode.HALF_EVEN, unit);
+  }
+
+  /**
+   * Returns the fixed point measurement <code>unscaledValue &times; 10<sup>-scale</sup></code> in the specified unit, multiplications and divisions
+   * being rounded using the specified rounding mode.
+   *
+   * @param unscaledValue
+   *          the mantissa of the measurement value.
+   * @param scale
+   *          the number of decimal digits, between 0 and 18.
+   * @param roundingMode
+   *          the rounding mode of multiplications, divisions and inexact conversions.
+   * @param unit
+   *          the measurement unit.
+   * @return the corresponding fixed point measurement.
+   * @throws IllegalArgumentException
+   *           if the scale is out of range
+   * @throws NullPointerException
+   *           when rounding mode or unit were null
+   * @since 1.0.11
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(long unscaledValue, int scale, RoundingMode roundingMode, Unit<Q> unit) {
+    return new FixedPointQuantity<>(unscaledValue, scale, roundingMode, Objects.requireNonNull(unit));
+  }
+
+  /**
+   * Returns a lazy view of the specified quantity. Multiplications, divisions, inversions and unit conversions of the returned quantity (and of the
+   * quantities derived from it) are recorded and evaluated together on first access to the value or unit, so that intermediate product units and
+   * quantities are not materialized. For example <code>lazy(a).multiply(b).divide(c).to(unit)</code> builds its unit only once and performs a single
+   * conversion.
+   *
+   * @param quantity
+   *          the quantity to start from.
+   * @return the lazy quantity.
+   * @throws NullPointerException
+   *           when quantity is null
+   * @since 1.0.11
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> lazy(Quantity<Q> quantity) {
+    return LazyQuantity.of(Objects.requireNonNull(quantity));
   }
 }
@@ -0,0 +1,271 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.uom.lib.common.function.QuantitySupplier;
+import tec.uom.se.function.SystemConverters;
+
+/**
+ * A wrapper of a {@link Quantity} whose equality and hash code are based on the value stated in the {@link Unit#getSystemUnit() system unit} rather
+ * than on the unit and value of the quantity. For example the keys of <code>1 km</code> and <code>1000 m</code> are equal, so that quantities stated
+ * in different units can be deduplicated or joined using hash based collections:<br/>
+ * <code>
+ *     Map&lt;QuantityKey&lt;Length&gt;, Row&gt; index = rows.stream().collect(toMap(r -&gt; QuantityKey.of(r.getLength()), identity()));
+ * </code>
+ *
+ * <p>
+ * The normalized value is computed once, with primitive arithmetic and a cached converter, and rounded to {@value #SIGNIFICANT_DIGITS} significant
+ * digits, so that the rounding errors of binary floating point do not matter: the keys of <code>1.001 km</code> and <code>1001 m</code> are equal.
+ * Integral and fixed point values converted by a decimal factor (e.g. a metric prefix) are scaled exactly in <code>long</code> arithmetic, other
+ * values are converted as <code>double</code>. Two keys are equal if their system units are equal and their normalized values are equal (
+ * <code>0.0</code> and <code>-0.0</code> being considered equal); values differing only beyond the {@value #SIGNIFICANT_DIGITS}th significant digit
+ * have equal keys. This object is immutable.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @version 1.0
+ * @since 1.0.11
+ */
+public final class QuantityKey<Q extends Quantity<Q>> implements QuantitySupplier<Q>, Serializable {
+
+  private static final long serialVersionUID = 2954311406741583466L;
+
+  /**
+   * The number of significant digits of the normalized value.
+   */
+  static final int SIGNIFICANT_DIGITS = 15;
+
+  private static final long MIN_MANTISSA = 100_000_000_000_000L; // 10^(SIGNIFICANT_DIGITS - 1)
+
+  private static final long MAX_MANTISSA = 10 * MIN_MANTISSA;
+
+  /**
+   * The exponent of the keys of non finite values, whose mantissa holds the bits of the <code>double</code> value.
+   */
+  private static final int NON_FINITE = Integer.MAX_VALUE;
+
+  private static final double[] POW10 = new double[309]; // 1e308 is the largest finite power of ten
+
+  static {
+    for (int i = 0; i < POW10.length; i++) {
+      POW10[i] = Double.parseDouble("1e" + i);
+    }
+  }
+
+  private final Quantity<Q> quantity;
+
+  private final Unit<Q> systemUnit;
+
+  /**
+   * The normalized value is <code>mantissa &times; 10<sup>exponent</sup></code>, the mantissa having at most {@value #SIGNIFICANT_DIGITS} digits and
+   * no trailing zero.
+   */
+  private final long mantissa;
+
+  private final int exponent;
+
+  private QuantityKey(Quantity<Q> quantity) {
+    this.quantity = quantity;
+    this.systemUnit = quantity.getUnit().getSystemUnit();
+    final SystemNormalizer normalizer = SystemNormalizer.of(quantity.getUnit());
+    long unscaled = 0L;
+    int scale = 0;
+    boolean exact = false;
+    if (normalizer.decimal) {
+      if (quantity instanceof IntegralQuantity) {
+        unscaled = ((IntegralQuantity<Q>) quantity).asLong();
+        exact = true;
+      } else if (quantity instanceof FixedPointQuantity) {
+        unscaled = ((FixedPointQuantity<Q>) quantity).getMantissa();
+        scale = ((FixedPointQuantity<Q>) quantity).getScale();
+        exact = true;
+      } else if (quantity instanceof NumberQuantity && IntegralQuantity.isIntegral(quantity.getValue())) {
+        unscaled = quantity.getValue().longValue();
+        exact = true;
+      }
+      exact = exact && fitsProduct(unscaled, normalizer.multiplier);
+    }
+    if (exact) {
+      final long m = unscaled * normalizer.multiplier;
+      final int e = -scale - normalizer.shift;
+      final int excess = digits(m) - SIGNIFICANT_DIGITS;
+      if (excess > 0) {
+        long pow = 1L;
+        for (int i = 0; i < excess; i++) {
+          pow *= 10L;
+        }
+        long rounded = FixedPointQuantity.divide(m, pow, RoundingMode.HALF_EVEN);
+        int roundedExponent = e + excess;
+        if (rounded == MAX_MANTISSA || rounded == -MAX_MANTISSA) { // e.g. 999999999999999.5 rounded up
+          rounded /= 10;
+          roundedExponent++;
+        }
+        this.mantissa = stripped(rounded);
+        this.exponent = roundedExponent + strippedZeros(rounded);
+      } else {
+        this.mantissa = stripped(m);
+        this.exponent = (m == 0) ? 0 : e + strippedZeros(m);
+      }
+    } else {
+      final double value = normalizer.converter.convert(SystemConverters.doubleValue(quantity));
+      if (value == 0d) { // Includes -0.0
+        this.mantissa = 0L;
+        this.exponent = 0;
+      } else if (Double.isNaN(value) || Double.isInfinite(value)) {
+        this.mantissa = Double.doubleToLongBits(value);
+        this.exponent = NON_FINITE;
+      } else {
+        int e = (int) Math.floor(Math.log10(Math.abs(value))) - (SIGNIFICANT_DIGITS - 1);
+        long m = (long) Math.rint(scale(value, -e));
+        if (Math.abs(m) >= MAX_MANTISSA) { // log10 rounded up to the next power of ten
+          e++;
+          m = (long) Math.rint(scale(value, -e));
+        } else if (Math.abs(m) < MIN_MANTISSA) { // log10 rounded down
+          e--;
+          m = (long) Math.rint(scale(value, -e));
+        }
+        this.mantissa = stripped(m);
+        this.exponent = e + strippedZeros(m);
+      }
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if <code>a &times; b</code> does not overflow.
+   */
+  static boolean fitsProduct(long a, long b) {
+    final long r = a * b;
+    return a == 0 || (r / a == b && !(a == -1 && b == Long.MIN_VALUE));
+  }
+
+  private static int digits(long m) {
+    int n = 1;
+    for (long a = Math.abs(m); a >= 10 || a < 0; a /= 10) { // a < 0 for Long.MIN_VALUE
+      n++;
+    }
+    return n;
+  }
+
+  private static long stripped(long m) {
+    while (m != 0 && m % 10 == 0) {
+      m /= 10;
+    }
+    return m;
+  }
+
+  private static int strippedZeros(long m) {
+    int n = 0;
+    while (m != 0 && m % 10 == 0) {
+      m /= 10;
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Returns <code>value &times; 10<sup>n</sup></code>, multiplying or dividing by a correctly rounded power of ten.
+   */
+  private static double scale(double value, int n) {
+    if (n >= 0) {
+      return (n < POW10.length) ? value * POW10[n] : value * POW10[POW10.length - 1] * POW10[n - POW10.length + 1];
+    }
+    return (-n < POW10.length) ? value / POW10[-n] : value / POW10[POW10.length - 1] / POW10[-n - POW10.length + 1];
+  }
+
+  /**
+   * Returns the key of the specified quantity.
+   *
+   * @param quantity
+   *          the quantity to wrap, not <code>null</code>.
+   * @return the corresponding key.
+   */
+  public static <Q extends Quantity<Q>> QuantityKey<Q> of(Quantity<Q> quantity) {
+    return new QuantityKey<>(Objects.requireNonNull(quantity));
+  }
+
+  /**
+   * Returns the wrapped quantity, stated in its original unit.
+   *
+   * @return the quantity.
+   */
+  @Override
+  public Quantity<Q> getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Returns the system unit the key is normalized to.
+   *
+   * @return the system unit.
+   */
+  public Unit<Q> getSystemUnit() {
+    return systemUnit;
+  }
+
+  /**
+   * Returns the normalized value of the quantity stated in the system unit.
+   *
+   * @return the normalized value.
+   */
+  public double getSystemValue() {
+    return (exponent == NON_FINITE) ? Double.longBitsToDouble(mantissa) : scale(mantissa, exponent);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof QuantityKey) {
+      final QuantityKey<?> that = (QuantityKey<?>) obj;
+      return mantissa == that.mantissa && exponent == that.exponent && systemUnit.equals(that.systemUnit);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return (31 * systemUnit.hashCode() + Long.hashCode(mantissa)) * 31 + exponent;
+  }
+
+  @Override
+  public String toString() {
+    return ((exponent == NON_FINITE) ? String.valueOf(getSystemValue()) : BigDecimal.valueOf(mantissa, -exponent).toPlainString()) + " " + systemUnit;
+  }
+}
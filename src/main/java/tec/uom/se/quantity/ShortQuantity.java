@@ -29,15 +29,10 @@
  */
 package tec.uom.se.quantity;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.util.Objects;
-
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
 import tec.uom.se.AbstractQuantity;
-import tec.uom.se.ComparableQuantity;
 
 /**
  * An amount of quantity, consisting of a short and a Unit. ShortQuantity objects are immutable.
@@ -50,7 +45,7 @@ import tec.uom.se.ComparableQuantity;
  * @version 0.2, $Date: 2016-09-01 $
  * @since 1.0
  */
-final class ShortQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
+final class ShortQuantity<Q extends Quantity<Q>> extends IntegralQuantity<Q> {
 
   /**
      * 
@@ -69,75 +64,8 @@ final class ShortQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
     return value;
   }
 
-  public double doubleValue(Unit<Q> unit) {
-    return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
-  }
-
-  @Override
-  public long longValue(Unit<Q> unit) {
-    double result = doubleValue(unit);
-    if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
-      throw new ArithmeticException("Overflow (" + result + ")");
-    }
-    return (long) result;
-  }
-
-  @Override
-  public boolean isBig() {
-    return false;
-  }
-
-  @Override
-  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) {
-    return BigDecimal.valueOf(doubleValue(unit));
-  }
-
-  @Override
-  public ComparableQuantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().shortValue(), getUnit());
-  }
-
-  @Override
-  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().shortValue(), getUnit());
-  }
-
   @Override
-  public ComparableQuantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((short) value / that.getValue().shortValue(), getUnit().divide(that.getUnit()));
-  }
-
-  @Override
-  public ComparableQuantity<Q> divide(Number that) {
-    return NumberQuantity.of(value / that.shortValue(), getUnit());
-  }
-
-  @Override
-  public ComparableQuantity<?> multiply(Quantity<?> multiplier) {
-    return NumberQuantity.of(value * multiplier.getValue().shortValue(), getUnit().multiply(multiplier.getUnit()));
-  }
-
-  @Override
-  public ComparableQuantity<Q> multiply(Number multiplier) {
-    return NumberQuantity.of(value * multiplier.shortValue(), getUnit());
-  }
-
-  @Override
-  public ComparableQuantity<?> inverse() {
-    return NumberQuantity.of(1 / value, getUnit().inverse());
-  }
-
-  @Override
-  public boolean equals(Object obj) {
-    if (this == obj) {
-      return true;
-    }
-    if (obj instanceof Quantity<?>) {
-      Quantity<?> that = (Quantity<?>) obj;
-      return Objects.equals(getUnit(), that.getUnit()) && Equalizer.hasEquality(value, that.getValue());
-    }
-    return false;
+  long asLong() {
+    return value;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.function.SystemConverters;
+
+/**
+ * The conversion of a unit to its {@link Unit#getSystemUnit() system unit}, together with the precomputed decimal form of its factor when the
+ * conversion is a rational factor whose divisor has no prime factor other than 2 and 5 (e.g. metric prefixes, <code>in &rarr; m</code>): such a
+ * factor is applied to a decimal <code>unscaled &times; 10<sup>exponent</sup></code> as <code>unscaled &times; {@link #multiplier} &times;
+ * 10<sup>exponent - {@link #shift}</sup></code>, without rounding. Normalizers are cached like the converters of {@link SystemConverters}.
+ *
+ * @version 1.0
+ * @since 1.0.11
+ */
+final class SystemNormalizer {
+
+  /**
+   * The maximum number of cached units.
+   */
+  static final int MAX_SIZE = 1024;
+
+  private static final Map<Unit<?>, SystemNormalizer> CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * The converter to the system unit.
+   */
+  final UnitConverter converter;
+
+  /**
+   * <code>true</code> if the conversion is an exact decimal factor {@link #multiplier} &times; 10<sup>-{@link #shift}</sup>.
+   */
+  final boolean decimal;
+
+  final long multiplier;
+
+  final int shift;
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private SystemNormalizer(Unit<?> unit) {
+    this.converter = SystemConverters.of((Unit) unit);
+    final long[] factor = FixedPointQuantity.rationalFactor(converter);
+    long multiplier = 0L;
+    int shift = -1;
+    if (factor != null && factor[1] > 0) {
+      // dividend / divisor = dividend * (10^shift / divisor) / 10^shift, exact if divisor = 2^a * 5^b and shift = max(a, b)
+      long divisor = factor[1];
+      int twos = 0;
+      int fives = 0;
+      while (divisor % 2 == 0) {
+        divisor /= 2;
+        twos++;
+      }
+      while (divisor % 5 == 0) {
+        divisor /= 5;
+        fives++;
+      }
+      final int n = Math.max(twos, fives);
+      if (divisor == 1 && n <= FixedPointQuantity.MAX_SCALE) {
+        long pow10 = 1L;
+        for (int i = 0; i < n; i++) {
+          pow10 *= 10L;
+        }
+        final long cofactor = pow10 / factor[1];
+        if (QuantityKey.fitsProduct(factor[0], cofactor)) {
+          multiplier = factor[0] * cofactor;
+          shift = n;
+        }
+      }
+    }
+    this.decimal = shift >= 0;
+    this.multiplier = multiplier;
+    this.shift = Math.max(shift, 0);
+  }
+
+  /**
+   * Returns the normalizer of the specified unit.
+   */
+  static SystemNormalizer of(Unit<?> unit) {
+    SystemNormalizer normalizer = CACHE.get(unit);
+    if (normalizer == null) {
+      normalizer = new SystemNormalizer(unit);
+      if (CACHE.size() < MAX_SIZE) {
+        CACHE.putIfAbsent(unit, normalizer);
+      }
+    }
+    return normalizer;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class BulkQuantityParserTest {
+
+  @Test
+  public void errorsTest() {
+    BulkQuantityParser.Result result = BulkQuantityParser.parse(new String[] { "12.5 kg", "abc kg", null, "3 m" });
+    assertEquals(4, result.size());
+    assertEquals(2, result.getErrorCount());
+    assertEquals(Quantities.getQuantity("12.5 kg"), result.getQuantity(0));
+    assertTrue(result.isError(1));
+    assertNotNull(result.getError(1));
+    assertNull(result.getQuantity(1));
+    assertTrue(result.isError(2));
+    assertFalse(result.isError(3));
+    assertNull(result.getUnit());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void mixedUnitsValuesTest() {
+    BulkQuantityParser.parse(Arrays.asList("1 kg", "2 m")).getValues();
+  }
+
+  @Test
+  public void homogeneousTest() {
+    List<String> rows = new ArrayList<>();
+    double[] expected = new double[3 * BulkQuantityParser.PARALLEL_THRESHOLD + 7];
+    for (int i = 0; i < expected.length; i++) {
+      rows.add(i + ".5 km");
+      expected[i] = i + 0.5;
+    }
+    rows.set(10, "x km");
+    expected[10] = Double.NaN;
+    BulkQuantityParser.Result result = BulkQuantityParser.parse(rows);
+    assertEquals(1, result.getErrorCount());
+    assertEquals(MetricPrefix.KILO(Units.METRE), result.getUnit());
+    assertArrayEquals(expected, result.getValues(), 0);
+    assertEquals(result.size(), result.getQuantities().length);
+  }
+
+  @Test
+  public void convertedValuesTest() {
+    BulkQuantityParser.Result result = BulkQuantityParser.parse(Arrays.asList("1 km", "250 m", "bad"));
+    assertArrayEquals(new double[] { 1000, 250, Double.NaN }, result.getValues(Units.METRE), 1e-9);
+  }
+}
@@ -129,4 +129,18 @@ public class EBNFFormatTest {
     @SuppressWarnings("unused")
     Unit<?> parsed2 = format.parse(formatted);
   }
+
+  @Test
+  public void testParserReusedAfterError() {
+    EBNFUnitFormat ebnf = EBNFUnitFormat.getInstance();
+    try {
+      ebnf.parse("m/)");
+      fail("Expected ParserException");
+    } catch (ParserException | IllegalArgumentException e) {
+      // expected
+    }
+    assertEquals(KILO(METRE).divide(SECOND), ebnf.parse("km/s"));
+    assertEquals(METRE.multiply(KILOGRAM), ebnf.parse("m·kg"));
+    assertEquals(MILLI(GRAM), ebnf.parse("mg"));
+  }
 }
@@ -34,6 +34,8 @@ import static org.junit.Assert.*;
 import static tec.uom.se.unit.MetricPrefix.*;
 import static tec.uom.se.unit.Units.*;
 
+import java.util.Locale;
+
 import javax.measure.Unit;
 import javax.measure.format.UnitFormat;
 import org.junit.Ignore;
@@ -76,4 +78,11 @@ public class LocalFormatTest {
     // System.out.println(u);
   }
 
+  @Test
+  public void testInstancePerLocale() {
+    LocalUnitFormat.warmUp(Locale.GERMAN, Locale.FRENCH);
+    assertSame(LocalUnitFormat.getInstance(Locale.GERMAN), LocalUnitFormat.getInstance(Locale.GERMAN));
+    assertNotSame(LocalUnitFormat.getInstance(Locale.GERMAN), LocalUnitFormat.getInstance(Locale.FRENCH));
+    assertEquals("km", LocalUnitFormat.getInstance(Locale.GERMAN).format(KILO(METRE)));
+  }
 }
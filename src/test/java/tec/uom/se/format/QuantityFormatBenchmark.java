@@ -0,0 +1,111 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.measure.Quantity;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+/**
+ * Measures the throughput of shared {@link QuantityFormat} instances used by several threads, and checks that concurrent use does not corrupt the
+ * output. Not a unit test, run it with <code>java tec.uom.se.format.QuantityFormatBenchmark [maxThreads] [operationsPerThread]</code> and compare the
+ * throughput for increasing thread counts.
+ */
+public class QuantityFormatBenchmark {
+
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) throws Exception {
+    final int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    final int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+    final List<Quantity<?>> quantities = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      if (i % 2 == 0) {
+        quantities.add(Quantities.getQuantity(i / 7d, MetricPrefix.KILO(Units.WATT)));
+      } else {
+        quantities.add(Quantities.getQuantity(i / 7d, Units.METRE.divide(Units.SECOND)));
+      }
+      quantities.add(Quantities.getQuantity(i, Units.KILOGRAM));
+    }
+    for (FormatBehavior behavior : FormatBehavior.values()) {
+      final QuantityFormat format = QuantityFormat.getInstance(behavior);
+      final String[] expected = new String[quantities.size()];
+      for (int i = 0; i < expected.length; i++) {
+        expected[i] = format.format(quantities.get(i), new StringBuilder()).toString();
+      }
+      for (int threads = 1; threads <= maxThreads; threads *= 2) {
+        final long nanos = measure(format, quantities, expected, threads, operations);
+        System.out.printf("%s, threads: %d, %.0f ops/s%n", behavior, threads, (double) threads * operations * 1e9 / nanos);
+      }
+    }
+  }
+
+  private static long measure(final QuantityFormat format, final List<Quantity<?>> quantities, final String[] expected, int threads,
+      final int operations) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      long best = Long.MAX_VALUE;
+      for (int round = 0; round < ROUNDS; round++) {
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          tasks.add(() -> {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < operations; i++) {
+              final int index = i % expected.length;
+              sb.setLength(0);
+              format.format(quantities.get(index), sb);
+              if (!expected[index].contentEquals(sb)) {
+                throw new IllegalStateException("Corrupted output: " + sb + ", expected: " + expected[index]);
+              }
+            }
+            return null;
+          });
+        }
+        final long start = System.nanoTime();
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+          future.get();
+        }
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      return best;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -34,7 +34,16 @@ import static tec.uom.se.unit.MetricPrefix.KILO;
 import static tec.uom.se.unit.MetricPrefix.MEGA;
 import static tec.uom.se.unit.Units.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.text.DecimalFormat;
 
 import javax.measure.Quantity;
@@ -129,4 +138,93 @@ public class QuantityFormatTest {
     @SuppressWarnings("unused")
     Quantity<?> parsed1 = format1.parse("1");
   }
+
+  @Test
+  public void testFormatToStringBuilder() throws IOException {
+    assertEquals("-42 km", format.format(Quantities.getQuantity(-42, KILO(METRE)), new StringBuilder()).toString());
+    assertEquals("0.1 m", format.format(Quantities.getQuantity(0.1d, METRE), new StringBuilder()).toString());
+    assertEquals("1.0E-7 m", format.format(Quantities.getQuantity(1e-7d, METRE), new StringBuilder()).toString());
+    assertEquals("2.5 m", format.format(Quantities.getQuantity(new BigDecimal("2.5"), METRE), new StringBuilder()).toString());
+  }
+
+  @Test
+  public void testFormatToWriter() throws IOException {
+    StringWriter writer = new StringWriter();
+    format.format(Quantities.getQuantity(Long.MIN_VALUE, METRE), writer);
+    writer.append(';');
+    format.format(Quantities.getQuantity(1234567890123L, METRE.divide(SECOND)), writer);
+    writer.append(';');
+    format.format(Quantities.getQuantity(0, METRE), writer);
+    assertEquals(Long.MIN_VALUE + " m;1234567890123 m/s;0 m", writer.toString());
+  }
+
+  @Test
+  public void testFormatPrefixedUnit() throws IOException {
+    assertEquals("3 kΩ", format.format(Quantities.getQuantity(3, KILO(OHM)), new StringBuilder()).toString());
+  }
+
+  @Test
+  public void testConcurrentLocalFormat() throws Exception {
+    final QuantityFormat local = QuantityFormat.getInstance(FormatBehavior.LOCALE_SENSITIVE);
+    final List<Quantity<Length>> lengths = new ArrayList<>();
+    final List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      lengths.add(Quantities.getQuantity(i / 7d, METRE));
+      lengths.add(Quantities.getQuantity(i + 0.5d, METRE));
+    }
+    for (Quantity<Length> length : lengths) {
+      expected.add(local.format(length, new StringBuilder()).toString());
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        tasks.add(() -> {
+          for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < lengths.size(); i++) {
+              if (!expected.get(i).equals(local.format(lengths.get(i), new StringBuilder()).toString())) {
+                return false;
+              }
+            }
+          }
+          return true;
+        });
+      }
+      for (Future<Boolean> result : executor.invokeAll(tasks)) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testLocalFormatDoesNotKeepFractionDigits() throws IOException {
+    final QuantityFormat format1 = QuantityFormat.getInstance(DecimalFormat.getInstance(Locale.ENGLISH), SimpleUnitFormat.getInstance());
+    final String before = format1.format(Quantities.getQuantity(1.5d, METRE), new StringBuilder()).toString();
+    format1.format(Quantities.getQuantity(1d / 3, METRE), new StringBuilder());
+    assertEquals(before, format1.format(Quantities.getQuantity(1.5d, METRE), new StringBuilder()).toString());
+    assertEquals("1.5 m", before);
+  }
+
+  @Test
+  public void testPlainIntegerFormat() throws IOException {
+    final DecimalFormat plain = (DecimalFormat) DecimalFormat.getInstance(Locale.ROOT);
+    plain.setGroupingUsed(false);
+    final QuantityFormat format = QuantityFormat.getInstance(plain, SimpleUnitFormat.getInstance());
+    assertEquals("-1234567 m", format.format(Quantities.getQuantity(-1234567, METRE), new StringWriter()).toString());
+    assertEquals(Long.MIN_VALUE + " m", format.format(Quantities.getQuantity(Long.MIN_VALUE, METRE), new StringWriter()).toString());
+    assertEquals("1.5 m", format.format(Quantities.getQuantity(1.5d, METRE), new StringWriter()).toString());
+    final QuantityFormat grouped = QuantityFormat.getInstance(DecimalFormat.getInstance(Locale.ENGLISH), SimpleUnitFormat.getInstance());
+    assertEquals("1,234,567 m", grouped.format(Quantities.getQuantity(1234567, METRE), new StringWriter()).toString());
+  }
+
+  @Test
+  public void testDefaultFormatDoubleToWriter() throws IOException {
+    final StringWriter writer = new StringWriter();
+    QuantityFormat.getInstance().format(Quantities.getQuantity(2.5d, METRE), writer);
+    writer.append(';');
+    QuantityFormat.getInstance().format(Quantities.getQuantity(0.125f, METRE), writer);
+    assertEquals("2.5 m;0.125 m", writer.toString());
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.measure.format.ParserException;
+
+import org.junit.Test;
+
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityReaderTest {
+
+  @Test
+  public void readerTest() throws IOException {
+    final QuantityReader reader = QuantityReader.of();
+    final List<ComparableQuantity<?>> quantities = new ArrayList<>();
+    assertEquals(3, reader.readQuantities(new StringReader("1.5 kW; 2 m/s\n-3e-3 m"), quantities::add));
+    assertEquals(Quantities.getQuantity(1.5d, MetricPrefix.KILO(Units.WATT)), quantities.get(0));
+    assertEquals(Quantities.getQuantity(2d, Units.METRE.divide(Units.SECOND)), quantities.get(1));
+    assertEquals(Quantities.getQuantity(-0.003d, Units.METRE), quantities.get(2));
+  }
+
+  @Test
+  public void unitIdsTest() {
+    final QuantityReader reader = QuantityReader.of();
+    final List<Integer> ids = new ArrayList<>();
+    reader.read(CharBuffer.wrap("1 m, 2 s, 3 m, 4 kg, 5 s"), (value, unitId) -> ids.add(unitId));
+    assertEquals(3, reader.getUnitCount());
+    assertEquals(Units.METRE, reader.getUnit(ids.get(0)));
+    assertEquals(Units.SECOND, reader.getUnit(ids.get(1)));
+    assertEquals(ids.get(0), ids.get(2));
+    assertEquals(Units.KILOGRAM, reader.getUnit(ids.get(3)));
+    assertEquals(ids.get(1), ids.get(4));
+  }
+
+  @Test
+  public void byteBufferTest() {
+    final QuantityReader reader = QuantityReader.of();
+    final List<ComparableQuantity<?>> quantities = new ArrayList<>();
+    reader.readQuantities(ByteBuffer.wrap("7 µg\t8 °C".getBytes(StandardCharsets.UTF_8)), quantities::add);
+    assertEquals(Quantities.getQuantity(7d, MetricPrefix.MICRO(Units.GRAM)), quantities.get(0));
+    assertEquals(Quantities.getQuantity(8d, Units.CELSIUS), quantities.get(1));
+  }
+
+  @Test
+  public void chunkBoundaryTest() throws IOException {
+    final StringBuilder input = new StringBuilder();
+    double expected = 0;
+    for (int i = 0; input.length() < 3 * QuantityReader.BUFFER_SIZE; i++) {
+      input.append(i).append(".25 km ");
+      expected += i + 0.25;
+    }
+    final double[] sum = new double[1];
+    final QuantityReader reader = QuantityReader.of();
+    reader.read(new StringReader(input.toString()), (value, unitId) -> sum[0] += value);
+    assertEquals(expected, sum[0], 0);
+    assertEquals(1, reader.getUnitCount());
+  }
+
+  @Test
+  public void numberParsingTest() {
+    final Random random = new Random(42);
+    final StringBuilder input = new StringBuilder();
+    final List<Double> expected = new ArrayList<>();
+    final String[] samples = { "0", "-0.0", "+12", "0.1", ".5", "3.", "1e10", "1E-5", "123456789012345678901234", "0.000000000000000000001234",
+        "4.9e-324", "1.7976931348623157e308", "9007199254740993", "2.2250738585072014E-308" };
+    for (String sample : samples) {
+      input.append(sample).append(" m\n");
+      expected.add(Double.parseDouble(sample));
+    }
+    for (int i = 0; i < 1000; i++) {
+      final double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+      input.append(d).append(" m\n");
+      expected.add(d);
+    }
+    final List<Double> values = new ArrayList<>();
+    QuantityReader.of().read(CharBuffer.wrap(input), (value, unitId) -> values.add(value));
+    assertEquals(expected, values);
+  }
+
+  @Test
+  public void invalidNumberTest() {
+    try {
+      QuantityReader.of().read(CharBuffer.wrap("1 m x2 m"), (value, unitId) -> {
+      });
+      fail("Expected ParserException");
+    } catch (ParserException e) {
+      assertEquals(4, e.getPosition());
+    }
+  }
+
+  @Test(expected = ParserException.class)
+  public void missingUnitTest() {
+    QuantityReader.of().read(CharBuffer.wrap("1 m 2"), (value, unitId) -> {
+    });
+  }
+
+  @Test(expected = ParserException.class)
+  public void invalidUnitTest() {
+    QuantityReader.of().read(CharBuffer.wrap("1 m 2 qqq"), (value, unitId) -> {
+    });
+  }
+}
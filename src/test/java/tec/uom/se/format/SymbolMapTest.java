@@ -30,6 +30,7 @@
 package tec.uom.se.format;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -84,4 +85,33 @@ public class SymbolMapTest {
 
     assertEquals(MetricPrefix.DEKA(Units.GRAM), u2);
   }
+
+  @Test
+  public void testPrefixedUnit() {
+    SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle(BUNDLE_NAME, Locale.ROOT));
+    assertEquals(Units.METRE, symbols.getPrefixedUnit("m"));
+    assertEquals(MetricPrefix.MILLI(Units.METRE), symbols.getPrefixedUnit("mm"));
+    assertEquals(MetricPrefix.MICRO(Units.SECOND), symbols.getPrefixedUnit("µs"));
+    assertEquals(MetricPrefix.DEKA(Units.NEWTON), symbols.getPrefixedUnit("daN"));
+    assertNull(symbols.getPrefixedUnit("k"));
+    assertNull(symbols.getPrefixedUnit("kqq"));
+    assertNull(symbols.getPrefix("qq"));
+  }
+
+  @Test
+  public void testShorterPrefixFallback() {
+    SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle(BUNDLE_NAME, Locale.ROOT));
+    symbols.alias(Units.SECOND, "ax");
+    // "da" matches first but "x" is not a unit, "d" followed by "ax" is.
+    assertEquals(MetricPrefix.DECI(Units.SECOND), symbols.getPrefixedUnit("dax"));
+  }
+
+  @Test
+  public void testPrefixLabel() {
+    SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle(BUNDLE_NAME, Locale.ROOT));
+    symbols.label(MetricPrefix.MICRO, "mc");
+    assertEquals(MetricPrefix.MICRO, symbols.getPrefix("mcg"));
+    assertEquals(MetricPrefix.MICRO(Units.GRAM), symbols.getPrefixedUnit("mcg"));
+    assertEquals(MetricPrefix.MILLI, symbols.getPrefix("mg"));
+  }
 }
@@ -0,0 +1,110 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+import tec.uom.se.unit.Units;
+
+public class UnitParseCacheTest {
+
+  @Test
+  public void simpleFormatHitTest() {
+    SimpleUnitFormat.DefaultFormat format = (SimpleUnitFormat.DefaultFormat) SimpleUnitFormat.getInstance();
+    UnitParseCache cache = format.getParseCache();
+    format.parse("kg*m/s²");
+    long hits = cache.getHitCount();
+    assertEquals(format.parse("kg*m/s²"), format.parse("kg*m/s²"));
+    assertEquals(hits + 2, cache.getHitCount());
+    assertTrue(cache.getHitRate() > 0);
+  }
+
+  @Test
+  public void simpleFormatAliasInvalidatesTest() {
+    SimpleUnitFormat format = new SimpleUnitFormat.DefaultFormat();
+    format.alias(Units.METRE, "parseCacheUnit");
+    assertEquals(Units.METRE, format.parse("parseCacheUnit"));
+    format.alias(Units.SECOND, "parseCacheUnit");
+    assertEquals(Units.SECOND, format.parse("parseCacheUnit"));
+  }
+
+  @Test
+  public void symbolMapChangeInvalidatesTest() {
+    SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle("tec.uom.se.format.messages", Locale.ROOT));
+    EBNFUnitFormat format = EBNFUnitFormat.getInstance(symbols);
+    assertEquals(Units.METRE, format.parse("m"));
+    assertEquals(Units.METRE, format.parse("m"));
+    assertEquals(1, format.getParseCache().getHitCount());
+    symbols.alias(Units.SECOND, "m");
+    assertEquals(Units.SECOND, format.parse("m"));
+    assertEquals(1, format.getParseCache().getHitCount());
+  }
+
+  @Test
+  public void failureNotCachedTest() {
+    LocalUnitFormat format = LocalUnitFormat.getInstance(Locale.ROOT);
+    long misses = format.getParseCache().getMissCount();
+    try {
+      format.parse("km");
+    } catch (UnsupportedOperationException e) {
+      // LocalUnitFormat does not parse compound units yet.
+    }
+    assertEquals(0, format.getParseCache().size());
+    assertEquals(misses + 1, format.getParseCache().getMissCount());
+  }
+
+  @Test
+  public void boundedTest() {
+    UnitParseCache cache = new UnitParseCache();
+    cache.put("u0", Units.METRE, cache.generation());
+    for (int i = 1; i < UnitParseCache.MAX_SIZE + 10; i++) {
+      cache.put("u" + i, Units.METRE, cache.generation());
+      cache.get("u0");
+    }
+    assertEquals(UnitParseCache.MAX_SIZE, cache.size());
+    assertEquals(Units.METRE, cache.get("u0"));
+    assertEquals(Units.METRE, cache.get("u" + (UnitParseCache.MAX_SIZE + 9)));
+  }
+
+  @Test
+  public void staleResultNotCachedTest() {
+    UnitParseCache cache = new UnitParseCache();
+    int generation = cache.generation();
+    cache.clear();
+    cache.put("m", Units.METRE, generation);
+    assertEquals(0, cache.size());
+  }
+}
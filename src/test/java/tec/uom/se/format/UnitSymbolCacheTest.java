@@ -0,0 +1,114 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.measure.Unit;
+import javax.measure.format.UnitFormat;
+
+import org.junit.Test;
+
+import tec.uom.se.function.RationalConverter;
+import tec.uom.se.unit.TransformedUnit;
+import tec.uom.se.unit.Units;
+
+public class UnitSymbolCacheTest {
+
+  @Test
+  public void productOrderTest() {
+    Unit<?> kgm = Units.KILOGRAM.multiply(Units.METRE);
+    Unit<?> mkg = Units.METRE.multiply(Units.KILOGRAM);
+    assertEquals(kgm, mkg);
+    assertFalse(UnitSymbolCache.sameStructure(kgm, mkg));
+    UnitFormat format = SimpleUnitFormat.getInstance();
+    String first = format.format(kgm);
+    String second = format.format(mkg);
+    assertEquals(first, format.format(Units.KILOGRAM.multiply(Units.METRE)));
+    assertEquals(second, format.format(Units.METRE.multiply(Units.KILOGRAM)));
+    assertFalse(first.equals(second));
+  }
+
+  @Test
+  public void simpleFormatLabelTest() {
+    Unit<?> unit = Units.METRE.multiply(7.25);
+    SimpleUnitFormat format = new SimpleUnitFormat.DefaultFormat();
+    String before = format.format(unit);
+    assertEquals(before, format.format(unit));
+    format.label(unit, "symbolCacheUnit");
+    assertEquals("symbolCacheUnit", format.format(unit));
+    assertEquals(before, SimpleUnitFormat.getInstance().format(unit));
+  }
+
+  @Test
+  public void symbolMapLabelTest() {
+    SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle("tec.uom.se.format.messages", Locale.ROOT));
+    EBNFUnitFormat format = EBNFUnitFormat.getInstance(symbols);
+    Unit<?> unit = Units.METRE.divide(Units.SECOND);
+    assertEquals("m/s", format.format(unit));
+    symbols.label(unit, "mps");
+    assertEquals("mps", format.format(unit));
+  }
+
+  @Test
+  public void transformedSymbolTest() {
+    Unit<?> symbol = new TransformedUnit<>("X", Units.METRE, new RationalConverter(1, 7));
+    Unit<?> noSymbol = new TransformedUnit<>(Units.METRE, new RationalConverter(1, 7));
+    assertFalse(UnitSymbolCache.sameStructure(symbol, noSymbol));
+    UnitFormat format = EBNFUnitFormat.getInstance();
+    assertEquals("X", format.format(symbol));
+    assertEquals("m/7", format.format(noSymbol));
+    assertEquals("X", format.format(symbol));
+  }
+
+  @Test
+  public void boundedTest() {
+    UnitSymbolCache cache = new UnitSymbolCache();
+    for (int i = 0; i < UnitSymbolCache.MAX_SIZE + 10; i++) {
+      cache.put(Units.METRE.multiply(i + 2), "u" + i, cache.generation());
+      cache.get(Units.METRE.multiply(2));
+    }
+    assertEquals(UnitSymbolCache.MAX_SIZE, cache.size());
+    assertEquals("u0", cache.get(Units.METRE.multiply(2)));
+    assertEquals("u" + (UnitSymbolCache.MAX_SIZE + 9), cache.get(Units.METRE.multiply(UnitSymbolCache.MAX_SIZE + 11)));
+  }
+
+  @Test
+  public void structureTest() {
+    assertTrue(UnitSymbolCache.sameStructure(Units.METRE.multiply(2), Units.METRE.multiply(2)));
+    assertFalse(UnitSymbolCache.sameStructure(Units.METRE.multiply(2), Units.METRE.multiply(3)));
+    assertTrue(UnitSymbolCache.sameStructure(Units.METRE.divide(Units.SECOND), Units.METRE.divide(Units.SECOND)));
+  }
+}
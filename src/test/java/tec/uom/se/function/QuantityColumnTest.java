@@ -0,0 +1,122 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityColumnTest {
+
+  private static double[] values(int size) {
+    return IntStream.rangeClosed(1, size).asDoubleStream().toArray();
+  }
+
+  @Test
+  public void accessTest() {
+    QuantityColumn<Length> column = QuantityColumn.of(new double[] { 1, 2, 3 }, Units.METRE);
+    Assert.assertEquals(3, column.size());
+    Assert.assertEquals(Units.METRE, column.getUnit());
+    Assert.assertEquals(Quantities.getQuantity(2d, Units.METRE), column.get(1));
+  }
+
+  @Test
+  public void spliteratorTest() {
+    QuantityColumn<Length> column = QuantityColumn.of(values(101), Units.METRE);
+    Spliterator.OfDouble suffix = column.valueSpliterator();
+    Assert.assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+    Spliterator.OfDouble prefix = suffix.trySplit();
+    Assert.assertEquals(50, prefix.estimateSize());
+    Assert.assertEquals(51, suffix.estimateSize());
+    double[] first = new double[1];
+    prefix.tryAdvance((double value) -> first[0] = value);
+    Assert.assertEquals(1d, first[0], 0d);
+
+    Spliterator<Quantity<Length>> single = QuantityColumn.of(new double[] { 1 }, Units.METRE).spliterator();
+    Assert.assertNull(single.trySplit());
+  }
+
+  @Test
+  public void streamTest() {
+    QuantityColumn<Length> column = QuantityColumn.of(values(1000), Units.METRE);
+    List<Quantity<Length>> quantities = column.stream(true).collect(Collectors.toList());
+    Assert.assertEquals(1000, quantities.size());
+    Assert.assertEquals(Quantities.getQuantity(1000d, Units.METRE), quantities.get(999));
+    Assert.assertEquals(500500d, column.values(true).sum(), 0d);
+  }
+
+  @Test
+  public void summarizeTest() {
+    QuantityColumn<Length> column = QuantityColumn.of(values(100000), MetricPrefix.MILLI(Units.METRE));
+    QuantitySummaryStatistics<Length> summary = column.summarize(Units.METRE);
+    Assert.assertEquals(100000L, summary.getCount());
+    Assert.assertEquals(0.001, summary.getMin().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(100d, summary.getMax().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(5000050d, summary.getSum().getValue().doubleValue(), 1e-6);
+    Assert.assertEquals(Units.METRE, summary.getAverage().getUnit());
+    Assert.assertEquals(100000d, column.summarize().getMax().getValue().doubleValue(), 0d);
+  }
+
+  @Test
+  public void momentsTest() {
+    QuantityColumn<Length> column = QuantityColumn.of(new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }, Units.METRE);
+    QuantityMoments<Length> moments = column.moments();
+    Assert.assertEquals(5d, moments.getMean().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(2d, moments.getStandardDeviation().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(200d, column.moments(MetricPrefix.CENTI(Units.METRE)).getStandardDeviation().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void bufferTest() {
+    DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * 10).asDoubleBuffer();
+    for (int i = 0; i < 10; i++) {
+      buffer.put(i);
+    }
+    buffer.flip();
+    buffer.position(5);
+    QuantityColumn<Length> column = QuantityColumn.of(buffer, Units.METRE);
+    Assert.assertEquals(5, column.size());
+    Assert.assertEquals(35d, column.summarize().getSum().getValue().doubleValue(), 0d);
+    Assert.assertEquals(5, buffer.position());
+  }
+}
@@ -33,8 +33,11 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.quantity.Time;
@@ -45,6 +48,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
 import tec.uom.se.unit.Units;
 
 public class QuantityFunctionsGroupTest {
@@ -101,6 +106,82 @@ public class QuantityFunctionsGroupTest {
     Assert.assertNotNull(summary.getSum());
   }
 
+  @Test
+  public void parallelSummaryTest() {
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 1; i <= 10000; i++) {
+      times.add(Quantities.getQuantity(i, (i % 2 == 0) ? Units.MINUTE : Units.SECOND));
+    }
+    QuantitySummaryStatistics<Time> sequential = times.stream().collect(QuantityFunctions.summarizeQuantity(Units.SECOND));
+    QuantitySummaryStatistics<Time> parallel = times.parallelStream().collect(QuantityFunctions.summarizeQuantity(Units.SECOND));
+
+    Assert.assertEquals(10000, parallel.getCount());
+    Assert.assertEquals(sequential.getSum().getValue().doubleValue(), parallel.getSum().getValue().doubleValue(), 1e-6);
+    Assert.assertEquals(1d, parallel.getMin().getValue().doubleValue(), 0d);
+    Assert.assertEquals(600000d, parallel.getMax().getValue().doubleValue(), 0d);
+    Assert.assertTrue(QuantityFunctions.summarizeQuantity(Units.SECOND).characteristics().contains(Collector.Characteristics.UNORDERED));
+  }
+
+  @Test
+  public void groupByDimensionTest() {
+    List<Quantity<?>> quantities = createMixedQuantities();
+    Map<Dimension, List<Quantity<?>>> byDimension = quantities.stream().collect(Collectors.groupingBy(QuantityFunctions.groupByDimension()));
+    Assert.assertEquals(2, byDimension.size());
+    Assert.assertEquals(3, byDimension.get(Units.METRE.getDimension()).size());
+    Map<Unit<?>, List<Quantity<?>>> bySystemUnit = quantities.stream().collect(Collectors.groupingBy(QuantityFunctions.groupBySystemUnit()));
+    Assert.assertEquals(2, bySystemUnit.get(Units.SECOND).size());
+  }
+
+  @Test
+  public void summarizeByDimensionTest() {
+    Map<Dimension, QuantitySummaryStatistics<?>> summaries = createMixedQuantities().stream()
+        .collect(QuantityFunctions.summarizeByDimension(d -> d.equals(Units.METRE.getDimension()) ? MetricPrefix.KILO(Units.METRE) : null));
+    QuantitySummaryStatistics<?> lengths = summaries.get(Units.METRE.getDimension());
+    Assert.assertEquals(3, lengths.getCount());
+    Assert.assertEquals(MetricPrefix.KILO(Units.METRE), lengths.getSum().getUnit());
+    Assert.assertEquals(3.5d, lengths.getSum().getValue().doubleValue(), 1e-12);
+    QuantitySummaryStatistics<?> times = summaries.get(Units.SECOND.getDimension());
+    Assert.assertEquals(Units.SECOND, times.getSum().getUnit());
+    Assert.assertEquals(3660d, times.getSum().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void summarizeBySystemUnitTest() {
+    Map<Unit<?>, QuantitySummaryStatistics<?>> summaries = createMixedQuantities().stream().collect(QuantityFunctions.summarizeBySystemUnit());
+    Assert.assertEquals(2, summaries.size());
+    Assert.assertEquals(3500d, summaries.get(Units.METRE).getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(3000d, summaries.get(Units.METRE).getMax().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void summarizeConcurrentTest() {
+    List<Quantity<?>> quantities = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      quantities.add(Quantities.getQuantity(1, (i % 2 == 0) ? Units.METRE : MetricPrefix.KILO(Units.METRE)));
+      quantities.add(Quantities.getQuantity(1, (i % 2 == 0) ? Units.SECOND : Units.MINUTE));
+    }
+    Collector<Quantity<?>, ?, ConcurrentMap<Unit<?>, QuantitySummaryStatistics<?>>> collector = QuantityFunctions.summarizeBySystemUnitConcurrent();
+    Assert.assertTrue(collector.characteristics().contains(Collector.Characteristics.CONCURRENT));
+    ConcurrentMap<Unit<?>, QuantitySummaryStatistics<?>> summaries = quantities.parallelStream().collect(collector);
+    Assert.assertEquals(10000, summaries.get(Units.METRE).getCount());
+    Assert.assertEquals(5000d * 1001, summaries.get(Units.METRE).getSum().getValue().doubleValue(), 1e-6);
+    Assert.assertEquals(5000d * 61, summaries.get(Units.SECOND).getSum().getValue().doubleValue(), 1e-6);
+
+    Map<Dimension, QuantitySummaryStatistics<?>> byDimension = quantities.parallelStream()
+        .collect(QuantityFunctions.summarizeByDimensionConcurrent(d -> null));
+    Assert.assertEquals(10000, byDimension.get(Units.SECOND.getDimension()).getCount());
+  }
+
+  private List<Quantity<?>> createMixedQuantities() {
+    List<Quantity<?>> quantities = new ArrayList<>();
+    quantities.add(Quantities.getQuantity(500, Units.METRE));
+    quantities.add(Quantities.getQuantity(3, MetricPrefix.KILO(Units.METRE)));
+    quantities.add(Quantities.getQuantity(0, MetricPrefix.CENTI(Units.METRE)));
+    quantities.add(Quantities.getQuantity(1, Units.HOUR));
+    quantities.add(Quantities.getQuantity(60, Units.SECOND));
+    return quantities;
+  }
+
   private List<Quantity<Time>> createTimes() {
     List<Quantity<Time>> times = new ArrayList<>();
     times.add(day);
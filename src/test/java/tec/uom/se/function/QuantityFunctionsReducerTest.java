@@ -31,8 +31,11 @@ package tec.uom.se.function;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import javax.measure.Quantity;
 import javax.measure.quantity.Time;
@@ -128,6 +131,94 @@ public class QuantityFunctionsReducerTest {
     assertEquals(sumSecond.getUnit(), Units.SECOND);
   }
 
+  @Test
+  public void minByTest() {
+    Optional<Quantity<Time>> quantity = getTimes().stream().collect(QuantityFunctions.minBy(Units.SECOND));
+    Assert.assertSame(seconds, quantity.get());
+    Assert.assertFalse(Collections.<Quantity<Time>> emptyList().stream().collect(QuantityFunctions.minBy(Units.SECOND)).isPresent());
+  }
+
+  @Test
+  public void maxByTest() {
+    Optional<Quantity<Time>> quantity = getTimes().stream().collect(QuantityFunctions.maxBy(Units.HOUR));
+    Assert.assertSame(day, quantity.get());
+    Quantity<Time> sameDay = timeFactory.create(24, Units.HOUR);
+    Assert.assertSame(day, Arrays.asList(minutes, day, sameDay).stream().collect(QuantityFunctions.maxBy(Units.HOUR)).get());
+  }
+
+  @Test
+  public void summingTest() {
+    List<Quantity<Time>> dayList = Arrays.asList(timeFactory.create(48, Units.HOUR), timeFactory.create(5, Units.DAY),
+        timeFactory.create(1440, Units.MINUTE));
+    Quantity<Time> sumHour = dayList.stream().collect(QuantityFunctions.summing(Units.HOUR));
+    assertEquals(192d, sumHour.getValue().doubleValue(), 1e-9);
+    assertEquals(Units.HOUR, sumHour.getUnit());
+    assertEquals(0d, Collections.<Quantity<Time>> emptyList().stream().collect(QuantityFunctions.summing(Units.HOUR)).getValue().doubleValue(), 0d);
+  }
+
+  @Test
+  public void parallelCollectorsTest() {
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 1; i <= 10000; i++) {
+      times.add(timeFactory.create(i, (i % 2 == 0) ? Units.SECOND : Units.MINUTE));
+    }
+    assertEquals(2d, times.parallelStream().collect(QuantityFunctions.minBy(Units.SECOND)).get().getValue().doubleValue(), 0d);
+    Quantity<Time> max = times.parallelStream().collect(QuantityFunctions.maxBy(Units.SECOND)).get();
+    assertEquals(9999d, max.getValue().doubleValue(), 0d);
+    assertEquals(Units.MINUTE, max.getUnit());
+    // 2 + 4 + ... + 10000 seconds and 1 + 3 + ... + 9999 minutes
+    assertEquals(25005000d + 25000000d * 60, times.parallelStream().collect(QuantityFunctions.summing(Units.SECOND)).getValue().doubleValue(), 1e-3);
+  }
+
+  @Test
+  public void topKTest() {
+    assertEquals(Arrays.asList(day, hours), getTimes().stream().collect(QuantityFunctions.topK(2)));
+    assertEquals(Arrays.asList(day, hours, minutes, seconds), getTimes().stream().collect(QuantityFunctions.topK(10)));
+    assertEquals(Collections.emptyList(), getTimes().stream().collect(QuantityFunctions.topK(0)));
+  }
+
+  @Test
+  public void bottomKTest() {
+    assertEquals(Arrays.asList(seconds, minutes, hours), getTimes().stream().collect(QuantityFunctions.bottomK(3)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldErrorWhenKIsNegative() {
+    QuantityFunctions.topK(-1);
+  }
+
+  @Test
+  public void selectionIsStableTest() {
+    Quantity<Time> oneHour = timeFactory.create(1, Units.HOUR);
+    Quantity<Time> sixtyMinutes = timeFactory.create(60, Units.MINUTE);
+    Quantity<Time> threeThousandSixHundredSeconds = timeFactory.create(3600, Units.SECOND);
+    List<Quantity<Time>> times = Arrays.asList(seconds, oneHour, sixtyMinutes, threeThousandSixHundredSeconds);
+    List<Quantity<Time>> top = times.stream().collect(QuantityFunctions.topK(2));
+    Assert.assertSame(oneHour, top.get(0));
+    Assert.assertSame(sixtyMinutes, top.get(1));
+    List<Quantity<Time>> bottom = times.stream().collect(QuantityFunctions.bottomK(3));
+    Assert.assertSame(seconds, bottom.get(0));
+    Assert.assertSame(oneHour, bottom.get(1));
+    Assert.assertSame(sixtyMinutes, bottom.get(2));
+  }
+
+  @Test
+  public void parallelSelectionTest() {
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      times.add(timeFactory.create(i % 1000, (i % 2 == 0) ? Units.SECOND : Units.MINUTE));
+    }
+    List<Quantity<Time>> expected = new ArrayList<>(times);
+    Collections.sort(expected, (q1, q2) -> Double.compare(SystemConverters.toSystemValue(q2), SystemConverters.toSystemValue(q1)));
+    expected = expected.subList(0, 100);
+    List<Quantity<Time>> sequential = times.stream().collect(QuantityFunctions.topK(100));
+    List<Quantity<Time>> parallel = times.parallelStream().collect(QuantityFunctions.topK(100));
+    for (int i = 0; i < 100; i++) {
+      Assert.assertSame(expected.get(i), sequential.get(i));
+      Assert.assertSame(expected.get(i), parallel.get(i));
+    }
+  }
+
   private List<Quantity<Time>> getTimes() {
     return Arrays.asList(day, hours, minutes, seconds);
   }
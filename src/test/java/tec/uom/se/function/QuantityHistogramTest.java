@@ -0,0 +1,175 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityHistogramTest {
+
+  private static final double ACCURACY = QuantityHistogram.DEFAULT_ACCURACY;
+
+  @Test
+  public void shouldBeEmpty() {
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND);
+    Assert.assertEquals(0L, histogram.getCount());
+    Assert.assertEquals(0d, histogram.getQuantile(0.5).getValue().doubleValue(), 0d);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void shouldErrorWhenIsNull() {
+    new QuantityHistogram<>(Units.SECOND).accept(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldErrorOnInvalidQuantile() {
+    new QuantityHistogram<>(Units.SECOND).getQuantile(1.5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldErrorOnInvalidAccuracy() {
+    QuantityFunctions.histogram(Units.SECOND, 0);
+  }
+
+  @Test
+  public void quantilesTest() {
+    List<Double> values = new ArrayList<>();
+    Random random = new Random(42);
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND);
+    for (int i = 0; i < 100000; i++) {
+      double value = Math.exp(random.nextGaussian() * 3);
+      values.add(value);
+      histogram.accept(Quantities.getQuantity(value * 1000, MetricPrefix.MILLI(Units.SECOND)));
+    }
+    Collections.sort(values);
+    for (double quantile : new double[] { 0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1 }) {
+      double expected = values.get((int) Math.floor(quantile * (values.size() - 1)));
+      double actual = histogram.getQuantile(quantile).getValue().doubleValue();
+      Assert.assertEquals("quantile " + quantile, expected, actual, expected * ACCURACY * 1.0001);
+    }
+    Assert.assertEquals(values.get(0), histogram.getMin().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(values.get(values.size() - 1), histogram.getMax().getValue().doubleValue(), 1e-6);
+  }
+
+  @Test
+  public void signedValuesTest() {
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND);
+    for (int i = -50; i <= 50; i++) {
+      histogram.accept(Quantities.getQuantity(i, Units.SECOND));
+    }
+    Assert.assertEquals(-50d, histogram.getQuantile(0).getValue().doubleValue(), 0d);
+    Assert.assertEquals(0d, histogram.getQuantile(0.5).getValue().doubleValue(), 0d);
+    Assert.assertEquals(-25d, histogram.getQuantile(0.25).getValue().doubleValue(), 25 * ACCURACY);
+    Assert.assertEquals(25d, histogram.getQuantile(0.75).getValue().doubleValue(), 25 * ACCURACY);
+    Assert.assertEquals(50d, histogram.getQuantile(1).getValue().doubleValue(), 0d);
+  }
+
+  @Test
+  public void quantileInUnitTest() {
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.MINUTE);
+    histogram.accept(Quantities.getQuantity(2, Units.MINUTE));
+    Quantity<Time> median = histogram.getQuantile(0.5, Units.SECOND);
+    Assert.assertEquals(Units.SECOND, median.getUnit());
+    Assert.assertEquals(120d, median.getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void boundedMemoryTest() {
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND, ACCURACY, 100);
+    for (int exponent = -200; exponent <= 200; exponent++) {
+      histogram.accept(Quantities.getQuantity(Math.pow(10, exponent), Units.SECOND));
+    }
+    Assert.assertEquals(401L, histogram.getCount());
+    Assert.assertEquals(1e200, histogram.getQuantile(1).getValue().doubleValue(), 1e200 * ACCURACY);
+    Assert.assertEquals(1e-200, histogram.getQuantile(0).getValue().doubleValue(), 0d);
+  }
+
+  @Test
+  public void parallelCollectorTest() {
+    QuantityHistogram<Time> sequential = IntStream.rangeClosed(1, 100000).mapToObj(i -> Quantities.getQuantity(i, Units.SECOND))
+        .collect(QuantityFunctions.histogram(Units.SECOND));
+    QuantityHistogram<Time> parallel = IntStream.rangeClosed(1, 100000).parallel().mapToObj(i -> Quantities.getQuantity(i, Units.SECOND))
+        .collect(QuantityFunctions.histogram(Units.SECOND));
+    Assert.assertEquals(100000L, parallel.getCount());
+    for (double quantile : new double[] { 0, 0.5, 0.99, 1 }) {
+      Assert.assertEquals(sequential.getQuantile(quantile).getValue().doubleValue(), parallel.getQuantile(quantile).getValue().doubleValue(), 0d);
+    }
+    Assert.assertEquals(50000d, parallel.getQuantile(0.5).getValue().doubleValue(), 50000 * ACCURACY);
+  }
+
+  @Test
+  public void combineDifferentUnitsTest() {
+    QuantityHistogram<Time> seconds = new QuantityHistogram<>(Units.SECOND);
+    QuantityHistogram<Time> minutes = new QuantityHistogram<>(Units.MINUTE);
+    for (int i = 1; i <= 100; i++) {
+      seconds.accept(Quantities.getQuantity(i, Units.SECOND));
+      minutes.accept(Quantities.getQuantity(i, Units.MINUTE));
+    }
+    seconds.combine(minutes);
+    Assert.assertEquals(200L, seconds.getCount());
+    Assert.assertEquals(6000d, seconds.getMax().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(100d, seconds.getQuantile(0.5).getValue().doubleValue(), 100 * 2 * ACCURACY);
+  }
+
+  @Test
+  public void serializationTest() throws Exception {
+    QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND);
+    for (int i = 1; i <= 1000; i++) {
+      histogram.accept(Quantities.getQuantity(i, Units.SECOND));
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(histogram);
+    }
+    @SuppressWarnings("unchecked")
+    QuantityHistogram<Time> remote = (QuantityHistogram<Time>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    remote.accept(Quantities.getQuantity(1001, Units.SECOND));
+    histogram.combine(remote);
+    Assert.assertEquals(2001L, histogram.getCount());
+    Assert.assertEquals(1001d, histogram.getMax().getValue().doubleValue(), 0d);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityMomentsTest {
+
+  private static final double[] VALUES = { 2, 4, 4, 4, 5, 5, 7, 9 };
+
+  private static QuantityMoments<Time> createMoments(double... values) {
+    QuantityMoments<Time> moments = new QuantityMoments<>(Units.SECOND);
+    for (double value : values) {
+      moments.accept(Quantities.getQuantity(value, Units.SECOND));
+    }
+    return moments;
+  }
+
+  @Test
+  public void shouldBeEmpty() {
+    QuantityMoments<Time> moments = new QuantityMoments<>(Units.SECOND);
+    Assert.assertEquals(0L, moments.getCount());
+    Assert.assertEquals(0d, moments.getVariance().getValue().doubleValue(), 0d);
+    Assert.assertEquals(0d, moments.getSampleStandardDeviation().getValue().doubleValue(), 0d);
+    Assert.assertTrue(Double.isNaN(moments.getSkewness()));
+  }
+
+  @Test
+  public void momentsTest() {
+    QuantityMoments<Time> moments = createMoments(VALUES);
+    Assert.assertEquals(8L, moments.getCount());
+    Assert.assertEquals(5d, moments.getMean().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(4d, moments.getVariance().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(2d, moments.getStandardDeviation().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(32d / 7, moments.getSampleVariance().getValue().doubleValue(), 1e-12);
+    // Third and fourth central moments are 5.25 and 44.5.
+    Assert.assertEquals(5.25 / 8, moments.getSkewness(), 1e-12);
+    Assert.assertEquals(44.5 / 16 - 3, moments.getKurtosis(), 1e-12);
+  }
+
+  @Test
+  public void unitsTest() {
+    QuantityMoments<Time> moments = createMoments(VALUES);
+    Assert.assertEquals(Units.SECOND, moments.getStandardDeviation().getUnit());
+    Assert.assertEquals(Units.SECOND.pow(2), moments.getVariance().getUnit());
+    Quantity<Time> millis = moments.getStandardDeviation(MetricPrefix.MILLI(Units.SECOND));
+    Assert.assertEquals(2000d, millis.getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void offsetUnitTest() {
+    QuantityMoments<Temperature> moments = new QuantityMoments<>(Units.KELVIN);
+    moments.accept(Quantities.getQuantity(10, Units.CELSIUS));
+    moments.accept(Quantities.getQuantity(20, Units.CELSIUS));
+    Assert.assertEquals(288.15, moments.getMean().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(5d, moments.getStandardDeviation().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(5d, moments.getStandardDeviation(Units.CELSIUS).getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void combineTest() {
+    QuantityMoments<Time> all = createMoments(VALUES);
+    QuantityMoments<Time> combined = createMoments(2, 4, 4).combine(createMoments(4, 5, 5, 7, 9));
+    Assert.assertEquals(all.getCount(), combined.getCount());
+    Assert.assertEquals(all.getMean().getValue().doubleValue(), combined.getMean().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(all.getVariance().getValue().doubleValue(), combined.getVariance().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(all.getSkewness(), combined.getSkewness(), 1e-12);
+    Assert.assertEquals(all.getKurtosis(), combined.getKurtosis(), 1e-12);
+    Assert.assertEquals(8L, new QuantityMoments<>(Units.SECOND).combine(all).getCount());
+  }
+
+  @Test
+  public void combineDifferentUnitsTest() {
+    QuantityMoments<Time> all = createMoments(VALUES);
+    QuantityMoments<Time> millis = new QuantityMoments<>(MetricPrefix.MILLI(Units.SECOND));
+    for (double value : new double[] { 4, 5, 5, 7, 9 }) {
+      millis.accept(Quantities.getQuantity(value, Units.SECOND));
+    }
+    QuantityMoments<Time> combined = createMoments(2, 4, 4).combine(millis);
+    Assert.assertEquals(all.getMean().getValue().doubleValue(), combined.getMean().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(all.getVariance().getValue().doubleValue(), combined.getVariance().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(all.getKurtosis(), combined.getKurtosis(), 1e-12);
+  }
+
+  @Test
+  public void parallelCollectorTest() {
+    Random random = new Random(7);
+    double[] values = IntStream.range(0, 100000).mapToDouble(i -> 1000 + random.nextGaussian() * 10).toArray();
+    QuantityMoments<Time> sequential = createMoments(values);
+    QuantityMoments<Time> parallel = IntStream.range(0, values.length).parallel().mapToObj(i -> Quantities.getQuantity(values[i], Units.SECOND))
+        .collect(QuantityFunctions.summarizeMoments(Units.SECOND));
+    Assert.assertEquals(100000L, parallel.getCount());
+    Assert.assertEquals(sequential.getMean().getValue().doubleValue(), parallel.getMean().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(sequential.getVariance().getValue().doubleValue(), parallel.getVariance().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(sequential.getSkewness(), parallel.getSkewness(), 1e-9);
+    Assert.assertEquals(sequential.getKurtosis(), parallel.getKurtosis(), 1e-9);
+    Assert.assertEquals(10d, parallel.getStandardDeviation().getValue().doubleValue(), 0.1);
+  }
+
+  @Test
+  public void squaredUnitSharedTest() {
+    Supplier<QuantityMoments<Time>> supplier = QuantityFunctions.summarizeMoments(Units.SECOND).supplier();
+    Assert.assertSame(supplier.get().getVariance().getUnit(), supplier.get().getVariance().getUnit());
+    Assert.assertEquals(Units.SECOND.pow(2), supplier.get().getVariance().getUnit());
+  }
+}
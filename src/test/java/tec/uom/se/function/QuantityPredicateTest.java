@@ -0,0 +1,98 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityPredicateTest {
+
+  private final Quantity<Length> oneMetre = Quantities.getQuantity(1, Units.METRE);
+  private final Quantity<Length> twoMetres = Quantities.getQuantity(2, Units.METRE);
+
+  @Test
+  public void boundsTest() {
+    Quantity<Length> hundredCentimetres = Quantities.getQuantity(100, MetricPrefix.CENTI(Units.METRE));
+    Assert.assertFalse(QuantityPredicate.greaterThan(oneMetre).test(hundredCentimetres));
+    Assert.assertTrue(QuantityPredicate.greaterThanOrEqualTo(oneMetre).test(hundredCentimetres));
+    Assert.assertFalse(QuantityPredicate.lesserThan(oneMetre).test(hundredCentimetres));
+    Assert.assertTrue(QuantityPredicate.lesserThanOrEqualTo(oneMetre).test(hundredCentimetres));
+    Assert.assertTrue(QuantityPredicate.greaterThan(oneMetre).test(Quantities.getQuantity(101, MetricPrefix.CENTI(Units.METRE))));
+    Assert.assertTrue(QuantityPredicate.lesserThan(oneMetre).test(Quantities.getQuantity(999, MetricPrefix.MILLI(Units.METRE))));
+  }
+
+  @Test
+  public void mixedUnitsTest() {
+    QuantityPredicate<Length> between = QuantityPredicate.between(oneMetre, twoMetres);
+    List<Quantity<Length>> lengths = Arrays.asList(Quantities.getQuantity(50, MetricPrefix.CENTI(Units.METRE)),
+        Quantities.getQuantity(1500, MetricPrefix.MILLI(Units.METRE)), Quantities.getQuantity(0.0015, MetricPrefix.KILO(Units.METRE)),
+        Quantities.getQuantity(2, MetricPrefix.KILO(Units.METRE)), Quantities.getQuantity(1, Units.METRE));
+    List<Quantity<Length>> result = lengths.stream().filter(between).collect(Collectors.toList());
+    Assert.assertEquals(Arrays.asList(lengths.get(1), lengths.get(2), lengths.get(4)), result);
+    Assert.assertEquals(result, lengths.parallelStream().filter(between).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void offsetUnitTest() {
+    QuantityPredicate<Temperature> warm = QuantityPredicate.greaterThan(Quantities.getQuantity(20, Units.CELSIUS));
+    Assert.assertTrue(warm.test(Quantities.getQuantity(300, Units.KELVIN)));
+    Assert.assertFalse(warm.test(Quantities.getQuantity(290, Units.KELVIN)));
+    Assert.assertTrue(warm.test(25, Units.CELSIUS));
+  }
+
+  @Test
+  public void bulkTest() {
+    QuantityPredicate<Length> between = QuantityPredicate.between(oneMetre, twoMetres);
+    double[] millimetres = { 500, 1000, 1500, 2000, 2500 };
+    BitSet expected = new BitSet();
+    expected.set(1, 4);
+    Assert.assertEquals(expected, between.filter(millimetres, MetricPrefix.MILLI(Units.METRE)));
+    Assert.assertArrayEquals(new int[] { 1, 2, 3 }, between.indicesOf(millimetres, MetricPrefix.MILLI(Units.METRE)));
+    Assert.assertArrayEquals(new int[0], between.indicesOf(millimetres, MetricPrefix.KILO(Units.METRE)));
+  }
+
+  @Test
+  public void toStringTest() {
+    Assert.assertEquals("[1 m, 2 m]", QuantityPredicate.between(oneMetre, twoMetres).toString());
+  }
+}
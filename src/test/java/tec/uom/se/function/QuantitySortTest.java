@@ -0,0 +1,141 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantitySortTest {
+
+  private final Quantity<Time> day = Quantities.getQuantity(1, Units.DAY);
+  private final Quantity<Time> hours = Quantities.getQuantity(18, Units.HOUR);
+  private final Quantity<Time> minutes = Quantities.getQuantity(15, Units.MINUTE);
+  private final Quantity<Time> seconds = Quantities.getQuantity(100, Units.SECOND);
+
+  @Test
+  public void sortTest() {
+    List<Quantity<Time>> times = new ArrayList<>(Arrays.asList(day, hours, minutes, seconds));
+    QuantitySort.sort(times);
+    Assert.assertEquals(Arrays.asList(seconds, minutes, hours, day), times);
+  }
+
+  @Test
+  public void sortDescTest() {
+    List<Quantity<Time>> times = new ArrayList<>(Arrays.asList(minutes, day, seconds, hours));
+    QuantitySort.sortDesc(times);
+    Assert.assertEquals(Arrays.asList(day, hours, minutes, seconds), times);
+  }
+
+  @Test
+  public void sortedTest() {
+    List<Quantity<Time>> times = Arrays.asList(day, hours, minutes, seconds);
+    Assert.assertEquals(Arrays.asList(seconds, minutes, hours, day), QuantitySort.sorted(times));
+    Assert.assertEquals(Arrays.asList(day, hours, minutes, seconds), QuantitySort.sortedDesc(times));
+    Assert.assertEquals(Arrays.asList(day, hours, minutes, seconds), times);
+  }
+
+  @Test
+  public void stableTest() {
+    Quantity<Time> sixtySeconds = Quantities.getQuantity(60, Units.SECOND);
+    Quantity<Time> oneMinute = Quantities.getQuantity(1, Units.MINUTE);
+    List<Quantity<Time>> times = new ArrayList<>(Arrays.asList(oneMinute, day, sixtySeconds));
+    QuantitySort.sort(times);
+    Assert.assertSame(oneMinute, times.get(0));
+    Assert.assertSame(sixtySeconds, times.get(1));
+    QuantitySort.sortDesc(times);
+    Assert.assertSame(oneMinute, times.get(1));
+    Assert.assertSame(sixtySeconds, times.get(2));
+  }
+
+  @Test
+  public void specialValuesTest() {
+    Quantity<Time> nan = Quantities.getQuantity(Double.NaN, Units.SECOND);
+    Quantity<Time> negative = Quantities.getQuantity(Double.NEGATIVE_INFINITY, Units.SECOND);
+    Quantity<Time> negativeZero = Quantities.getQuantity(-0d, Units.SECOND);
+    Quantity<Time> zero = Quantities.getQuantity(0d, Units.SECOND);
+    List<Quantity<Time>> times = new ArrayList<>(Arrays.asList(nan, zero, day, negativeZero, negative));
+    QuantitySort.sort(times);
+    Assert.assertEquals(Arrays.asList(negative, negativeZero, zero, day, nan), times);
+    QuantitySort.sortDesc(times);
+    Assert.assertSame(day, times.get(0));
+    Assert.assertSame(zero, times.get(1));
+    Assert.assertSame(negativeZero, times.get(2));
+    Assert.assertSame(negative, times.get(3));
+    Assert.assertSame(nan, times.get(4));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void shouldErrorWhenElementIsNull() {
+    QuantitySort.sort(new ArrayList<>(Arrays.asList(day, null)));
+  }
+
+  @Test
+  public void largeMixedUnitsTest() {
+    @SuppressWarnings("unchecked")
+    Unit<Time>[] units = new Unit[] { Units.SECOND, Units.MINUTE, Units.HOUR, MetricPrefix.MILLI(Units.SECOND) };
+    Random random = new Random(3);
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 0; i < QuantitySort.PARALLEL_THRESHOLD * 4 + 17; i++) {
+      times.add(Quantities.getQuantity(random.nextInt(100000), units[random.nextInt(units.length)]));
+    }
+    List<Quantity<Time>> expected = new ArrayList<>(times);
+    Collections.sort(expected, (q1, q2) -> Double.compare(SystemConverters.toSystemValue(q1), SystemConverters.toSystemValue(q2)));
+
+    List<Quantity<Time>> sequential = QuantitySort.sorted(times);
+    Assert.assertEquals(expected, sequential);
+
+    // Sorting from a pool of several workers takes the parallel path, even on a single core.
+    List<Quantity<Time>> parallel = new ForkJoinPool(4).submit(() -> {
+      List<Quantity<Time>> list = new ArrayList<>(times);
+      int[] order = QuantitySort.order(list.toArray(), false);
+      List<Quantity<Time>> result = new ArrayList<>();
+      for (int index : order) {
+        result.add(list.get(index));
+      }
+      return result;
+    }).join();
+    Assert.assertEquals(expected, parallel);
+  }
+}
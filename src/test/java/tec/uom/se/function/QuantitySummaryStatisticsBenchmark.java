@@ -0,0 +1,79 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+/**
+ * Measures how {@link QuantityFunctions#summarizeQuantity(javax.measure.Unit)} scales with the parallelism of the common pool. Not a unit test, run
+ * it with <code>java -Djava.util.concurrent.ForkJoinPool.common.parallelism=N tec.uom.se.function.QuantitySummaryStatisticsBenchmark [size]</code>
+ * for increasing values of <code>N</code> and compare the parallel times.
+ */
+public class QuantitySummaryStatisticsBenchmark {
+
+  private static final int ROUNDS = 10;
+
+  public static void main(String[] args) {
+    final int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    final List<Quantity<Length>> lengths = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      lengths.add(Quantities.getQuantity((double) i, (i % 3 == 0) ? MetricPrefix.KILO(Units.METRE) : Units.METRE));
+    }
+    System.out.println("size: " + size + ", parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+
+    final long sequential = measure(lengths, false);
+    final long parallel = measure(lengths, true);
+    System.out.printf("sequential: %d ms, parallel: %d ms, speedup: %.2f%n", sequential, parallel, (double) sequential / parallel);
+  }
+
+  private static long measure(List<Quantity<Length>> lengths, boolean parallel) {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      final long start = System.nanoTime();
+      final QuantitySummaryStatistics<Length> summary = (parallel ? lengths.parallelStream() : lengths.stream()).collect(QuantityFunctions
+          .summarizeQuantity(Units.METRE));
+      final long elapsed = System.nanoTime() - start;
+      if (summary.getCount() != lengths.size()) {
+        throw new IllegalStateException("Lost elements: " + summary);
+      }
+      best = Math.min(best, elapsed);
+    }
+    return best / 1_000_000;
+  }
+}
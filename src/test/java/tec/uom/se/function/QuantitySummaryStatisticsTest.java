@@ -29,12 +29,15 @@
  */
 package tec.uom.se.function;
 
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
 import javax.measure.quantity.Time;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
 import tec.uom.se.unit.Units;
 
 public class QuantitySummaryStatisticsTest {
@@ -122,6 +125,78 @@ public class QuantitySummaryStatisticsTest {
     Assert.assertEquals(4L, summary.getAverage().getValue().longValue());
   }
 
+  @Test
+  public void combineDifferentUnitsTest() {
+    QuantitySummaryStatistics<Time> summaryA = createSummaryTime();
+    QuantitySummaryStatistics<Time> summaryB = createSummaryTime().to(Units.HOUR);
+    QuantitySummaryStatistics<Time> summary = summaryA.combine(summaryB);
+
+    Assert.assertEquals(6L, summary.getCount());
+    Assert.assertEquals(1d, summary.getMin().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(9d, summary.getMax().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(24d, summary.getSum().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(Units.DAY, summary.getSum().getUnit());
+  }
+
+  @Test
+  public void combineEmptyTest() {
+    QuantitySummaryStatistics<Time> empty = new QuantitySummaryStatistics<>(Units.HOUR);
+    QuantitySummaryStatistics<Time> summary = empty.combine(createSummaryTime());
+    Assert.assertEquals(3L, summary.getCount());
+    Assert.assertEquals(24d, summary.getMin().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(3L, createSummaryTime().combine(new QuantitySummaryStatistics<>(Units.HOUR)).getCount());
+  }
+
+  @Test
+  public void compensatedSumTest() {
+    QuantitySummaryStatistics<Length> summary = new QuantitySummaryStatistics<>(Units.METRE);
+    summary.accept(Quantities.getQuantity(1e16, Units.METRE));
+    for (int i = 0; i < 1000; i++) {
+      summary.accept(Quantities.getQuantity(1d, Units.METRE));
+    }
+    summary.accept(Quantities.getQuantity(-1e16, Units.METRE));
+    Assert.assertEquals(1000d, summary.getSum().getValue().doubleValue(), 0d);
+    Assert.assertEquals(-1e16, summary.getMin().getValue().doubleValue(), 0d);
+    Assert.assertEquals(1e16, summary.getMax().getValue().doubleValue(), 0d);
+  }
+
+  @Test
+  public void mixedUnitsTest() {
+    QuantitySummaryStatistics<Length> summary = new QuantitySummaryStatistics<>(Units.METRE);
+    for (int i = 0; i < 10; i++) {
+      summary.accept(Quantities.getQuantity(250, MetricPrefix.CENTI(Units.METRE)));
+      summary.accept(Quantities.getQuantity(1.5, MetricPrefix.KILO(Units.METRE)));
+    }
+    Assert.assertEquals(20L, summary.getCount());
+    Assert.assertEquals(2.5d, summary.getMin().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(1500d, summary.getMax().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(15025d, summary.getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(751.25d, summary.getAverage().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(Units.METRE, summary.getAverage().getUnit());
+  }
+
+  @Test
+  public void affineConversionTest() {
+    QuantitySummaryStatistics<Temperature> summary = new QuantitySummaryStatistics<>(Units.KELVIN);
+    summary.accept(Quantities.getQuantity(273.15, Units.KELVIN));
+    summary.accept(Quantities.getQuantity(283.15, Units.KELVIN));
+    summary.accept(Quantities.getQuantity(293.15, Units.KELVIN));
+    QuantitySummaryStatistics<Temperature> celsius = summary.to(Units.CELSIUS);
+    Assert.assertEquals(30d, celsius.getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(10d, celsius.getAverage().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(0d, celsius.getMin().getValue().doubleValue(), 1e-9);
+
+    QuantitySummaryStatistics<Temperature> combined = new QuantitySummaryStatistics<>(Units.KELVIN).combine(celsius);
+    Assert.assertEquals(849.45d, combined.getSum().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonAffineConversionTest() {
+    QuantitySummaryStatistics<Length> summary = new QuantitySummaryStatistics<>(Units.METRE);
+    summary.accept(Quantities.getQuantity(1d, Units.METRE));
+    summary.to(Units.METRE.transform(new LogConverter(10)));
+  }
+
   private QuantitySummaryStatistics<Time> createSummaryTime() {
     QuantitySummaryStatistics<Time> summary = new QuantitySummaryStatistics<>(Units.DAY);
 
@@ -31,7 +31,19 @@ package tec.uom.se.internal.format;
 
 import static org.junit.Assert.*;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.measure.format.UnitFormat;
 
 import javax.measure.spi.ServiceProvider;
 import javax.measure.spi.UnitFormatService;
@@ -44,6 +56,7 @@ import tec.uom.se.format.SimpleUnitFormat;
  * Tests for services provided via {@link ServiceProvider}.
  */
 public class UnitFormatServiceTest {
+  private static final Logger logger = Logger.getLogger(UnitFormatServiceTest.class.getName());
 
   @Test
   public void testGetServices() throws Exception {
@@ -74,4 +87,82 @@ public class UnitFormatServiceTest {
     assertNotNull(ufs);
     assertNull(ufs.getUnitFormat("XYZ"));
   }
+
+  @Test
+  public void testFormatsCreatedOnRequest() {
+    final AtomicInteger created = new AtomicInteger();
+    final Map<String, Supplier<UnitFormat>> factories = new HashMap<>();
+    factories.put("Test", () -> {
+      created.incrementAndGet();
+      return SimpleUnitFormat.getInstance();
+    });
+    final DefaultUnitFormatService service = new DefaultUnitFormatService(factories);
+    assertEquals(0, created.get());
+    assertTrue(service.getAvailableFormatNames().contains("Test"));
+    assertEquals(0, created.get());
+    assertSame(SimpleUnitFormat.getInstance(), service.getUnitFormat("Test"));
+    assertEquals(1, created.get());
+  }
+
+  /**
+   * Loads the service in an isolated class loader, so that the formats are certainly not initialized by other tests, and checks that their resource
+   * bundles are only read when a format is requested.
+   */
+  @Test
+  public void testFormatsLoadedOnRequest() throws Exception {
+    final URL classes = DefaultUnitFormatService.class.getProtectionDomain().getCodeSource().getLocation();
+    final List<String> resources = new ArrayList<>();
+    try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, getClass().getClassLoader()) {
+      @Override
+      protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (name.startsWith("tec.uom.se.")) {
+          synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+              try {
+                loaded = findClass(name);
+              } catch (ClassNotFoundException notInMainClasses) {
+                return super.loadClass(name, resolve);
+              }
+            }
+            if (resolve) {
+              resolveClass(loaded);
+            }
+            return loaded;
+          }
+        }
+        return super.loadClass(name, resolve);
+      }
+
+      @Override
+      public URL getResource(String name) {
+        resources.add(name);
+        return super.getResource(name);
+      }
+    }) {
+      final Class<?> serviceClass = loader.loadClass(DefaultUnitFormatService.class.getName());
+      assertSame(loader, serviceClass.getClassLoader());
+      final UnitFormatService service = (UnitFormatService) serviceClass.getConstructor().newInstance();
+      assertEquals(4, ((Set<?>) serviceClass.getMethod("getAvailableFormatNames").invoke(service)).size());
+      assertFalse(resources.stream().anyMatch(name -> name.startsWith("tec/uom/se/format/messages")));
+
+      final UnitFormat ebnf = service.getUnitFormat("EBNF");
+      assertSame(loader, ebnf.getClass().getClassLoader());
+      assertTrue(resources.stream().anyMatch(name -> name.startsWith("tec/uom/se/format/messages")));
+      assertSame(ebnf, service.getUnitFormat("EBNF"));
+    }
+  }
+
+  @Test
+  public void testStartupTime() {
+    final long start = System.nanoTime();
+    final DefaultUnitFormatService service = new DefaultUnitFormatService();
+    final long constructed = System.nanoTime();
+    assertNotNull(service.getUnitFormat());
+    final long firstFormat = System.nanoTime();
+    logger.fine("Service construction: " + TimeUnit.NANOSECONDS.toMicros(constructed - start) + " µs, default format: "
+        + TimeUnit.NANOSECONDS.toMicros(firstFormat - constructed) + " µs");
+    assertSame(service.getUnitFormat("EBNF"), service.getUnitFormat("EBNF"));
+    assertEquals(4, service.getAvailableFormatNames().size());
+  }
 }
@@ -48,7 +48,7 @@ public class ByteQuantityTest {
     ByteQuantity<ElectricResistance> quantity1 = new ByteQuantity<>(Byte.valueOf("3").byteValue(), Units.OHM);
     ByteQuantity<ElectricResistance> quantity2 = new ByteQuantity<>(Byte.valueOf("2").byteValue(), Units.OHM);
     Quantity<?> result = quantity1.divide(quantity2);
-    assertEquals(Integer.valueOf("1"), result.getValue());
+    assertEquals(Double.valueOf(1.5d), result.getValue());
   }
 
   @Test
@@ -32,6 +32,7 @@ package tec.uom.se.quantity;
 import static org.junit.Assert.assertEquals;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 
 import javax.measure.Quantity;
 import javax.measure.quantity.Length;
@@ -40,6 +41,7 @@ import javax.measure.quantity.Time;
 import org.junit.Assert;
 import org.junit.Test;
 
+import tec.uom.se.Precision;
 import tec.uom.se.unit.Units;
 
 public class DecimalQuantityTest {
@@ -153,4 +155,41 @@ public class DecimalQuantityTest {
     double hours = day.doubleValue(Units.HOUR);
     assertEquals(72D, hours, 0);
   }
+
+  @Test
+  public void inverseNonTerminatingTest() {
+    Quantity<?> inv = Quantities.getQuantity(BigDecimal.valueOf(3), Units.SECOND).inverse();
+    assertEquals(MathContext.DECIMAL128.getPrecision(), ((BigDecimal) inv.getValue()).precision());
+  }
+
+  @Test
+  public void scopedPrecisionTest() {
+    Quantity<Length> m = Quantities.getQuantity(BigDecimal.ONE, Units.METRE);
+    try (Precision.Scope scope = Precision.scoped(new MathContext(5))) {
+      Quantity<Length> third = m.divide(3);
+      assertEquals(new BigDecimal("0.33333"), third.getValue());
+      assertEquals(new BigDecimal("0.66667"), m.multiply(2).divide(3).getValue());
+    }
+    assertEquals(MathContext.DECIMAL128, Precision.current());
+  }
+
+  @Test
+  public void mixedUnitAddPrecisionTest() {
+    Quantity<Time> day = Quantities.getQuantity(BigDecimal.ONE, Units.DAY);
+    Quantity<Time> minute = Quantities.getQuantity(BigDecimal.ONE, Units.MINUTE);
+    Quantity<Time> result = Precision.with(MathContext.DECIMAL32, () -> day.add(minute));
+    assertEquals(new BigDecimal("1.000694"), result.getValue());
+    assertEquals(Units.DAY, result.getUnit());
+  }
+
+  @Test
+  public void decimalValueTest() {
+    DecimalQuantity<Time> hour = new DecimalQuantity<>(BigDecimal.ONE, Units.HOUR);
+    assertEquals(0, BigDecimal.valueOf(3600).compareTo(hour.decimalValue(Units.SECOND, MathContext.DECIMAL64)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unlimitedPrecisionTest() {
+    Precision.scoped(MathContext.UNLIMITED);
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Energy;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.function.QuantityFunctions;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class FixedPointQuantityTest {
+
+  @Test
+  public void valueTest() {
+    Quantity<Energy> energy = Quantities.getQuantity(1234567, 6, Units.JOULE);
+    assertEquals(new BigDecimal("1.234567"), energy.getValue());
+    assertEquals(1.234567d, energy.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void exactAddTest() {
+    ComparableQuantity<Length> sum = Quantities.getQuantity(0, 1, Units.METRE);
+    for (int i = 0; i < 10; i++) {
+      sum = sum.add(Quantities.getQuantity(1, 1, Units.METRE));
+    }
+    assertEquals(new BigDecimal("1.0"), sum.getValue());
+  }
+
+  @Test
+  public void addScaleTest() {
+    Quantity<Length> a = Quantities.getQuantity(15, 1, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(125, 3, Units.METRE);
+    Quantity<Length> c = a.subtract(b);
+    assertEquals(new BigDecimal("1.375"), c.getValue());
+  }
+
+  @Test
+  public void addPrefixedTest() {
+    Quantity<Length> m = Quantities.getQuantity(15, 1, Units.METRE);
+    Quantity<Length> mm = Quantities.getQuantity(25, 0, MetricPrefix.MILLI(Units.METRE));
+    Quantity<Length> km = Quantities.getQuantity(1, 0, MetricPrefix.KILO(Units.METRE));
+    assertEquals(new BigDecimal("1.525"), m.add(mm).getValue());
+    assertEquals(new BigDecimal("1001.5"), m.add(km).getValue());
+  }
+
+  @Test
+  public void conversionTest() {
+    Quantity<Length> m = Quantities.getQuantity(15, 1, Units.METRE);
+    Quantity<Length> km = m.to(MetricPrefix.KILO(Units.METRE));
+    assertEquals(new BigDecimal("0.0015"), km.getValue());
+    Quantity<Time> hour = Quantities.getQuantity(25, 1, Units.HOUR);
+    assertEquals(0, new BigDecimal(9000).compareTo((BigDecimal) hour.to(Units.SECOND).getValue()));
+    Quantity<Time> second = Quantities.getQuantity(100, 0, Units.SECOND);
+    assertEquals(new BigDecimal("1.67"), second.to(Units.MINUTE).getValue());
+    assertEquals(new BigDecimal("0.0278"), second.to(Units.HOUR).getValue());
+    assertEquals(new BigDecimal("0.027778"), Quantities.getQuantity(10000, 2, Units.SECOND).to(Units.HOUR).getValue());
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void divideOverflowTest() {
+    Quantities.getQuantity(Long.MIN_VALUE, 0, Units.METRE).divide(-1);
+  }
+
+  @Test
+  public void multiplyDivideRoundingTest() {
+    Quantity<Length> m = Quantities.getQuantity(100, 2, Units.METRE);
+    assertEquals(new BigDecimal("0.33"), m.divide(3).getValue());
+    assertEquals(new BigDecimal("0.67"), m.multiply(2).divide(3).getValue());
+    Quantity<Length> floor = Quantities.getQuantity(100, 2, RoundingMode.FLOOR, Units.METRE);
+    assertEquals(new BigDecimal("0.66"), floor.multiply(2).divide(3).getValue());
+    assertEquals(new BigDecimal("1.24"), m.multiply(new BigDecimal("1.245")).getValue());
+    assertEquals(new BigDecimal("2.50"), m.multiply(2.5).getValue());
+  }
+
+  @Test
+  public void multiplyQuantityTest() {
+    Quantity<Length> a = Quantities.getQuantity(15, 1, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(2, 0, Units.METRE);
+    Quantity<?> area = a.multiply(b);
+    assertEquals(new BigDecimal("3.0"), area.getValue());
+    assertEquals(Units.SQUARE_METRE, area.getUnit());
+    assertEquals(new BigDecimal("0.8"), a.divide(b).getValue());
+    assertEquals(new BigDecimal("1.2"), a.divide(b).inverse().getValue());
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void overflowTest() {
+    Quantities.getQuantity(Long.MAX_VALUE, 0, Units.METRE).add(Quantities.getQuantity(1, 0, Units.METRE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void scaleRangeTest() {
+    Quantities.getQuantity(1, 19, Units.METRE);
+  }
+
+  @Test
+  public void equalityTest() {
+    Quantity<Length> a = Quantities.getQuantity(10, 1, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(100, 2, Units.METRE);
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertNotEquals(a, Quantities.getQuantity(101, 2, Units.METRE));
+    assertEquals(0, ((ComparableQuantity<Length>) a).compareTo(Quantities.getQuantity(1000, 0, MetricPrefix.MILLI(Units.METRE))));
+    assertTrue(((ComparableQuantity<Length>) a).isLessThan(b.add(Quantities.getQuantity(1, 3, Units.METRE))));
+  }
+
+  @Test
+  public void otherImplementationsTest() {
+    ComparableQuantity<Length> fixed = Quantities.getQuantity(20, 1, Units.METRE);
+    ComparableQuantity<Length> integer = Quantities.getQuantity(2, Units.METRE);
+    ComparableQuantity<Length> decimal = Quantities.getQuantity(new BigDecimal("2.0"), Units.METRE);
+    assertNotEquals(fixed, integer);
+    assertNotEquals(integer, fixed);
+    assertNotEquals(fixed, decimal);
+    assertTrue(fixed.isEquivalentTo(integer));
+    assertTrue(fixed.isEquivalentTo(decimal));
+  }
+
+  @Test
+  public void sumTest() {
+    List<Quantity<Length>> values = Arrays.asList(Quantities.getQuantity(1, 1, Units.METRE), Quantities.getQuantity(2, 1, Units.METRE),
+        Quantities.getQuantity(300, 0, MetricPrefix.MILLI(Units.METRE)));
+    Quantity<Length> sum = values.stream().reduce(QuantityFunctions.sum(Units.METRE)).get();
+    assertEquals(new BigDecimal("0.600"), sum.getValue());
+  }
+}
@@ -30,6 +30,13 @@
 package tec.uom.se.quantity;
 
 import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.measure.Quantity;
 import javax.measure.quantity.ElectricResistance;
 import javax.measure.quantity.Length;
@@ -38,6 +45,7 @@ import javax.measure.quantity.Time;
 import org.junit.Assert;
 import org.junit.Test;
 
+import tec.uom.se.AbstractQuantity;
 import tec.uom.se.quantity.Quantities;
 import tec.uom.se.unit.MetricPrefix;
 import tec.uom.se.unit.Units;
@@ -52,6 +60,31 @@ public class IntegerQuantityTest {
     assertEquals(Double.valueOf(1.5d), result.getValue());
   }
 
+  @Test
+  public void addOverflowTest() {
+    IntegerQuantity<ElectricResistance> quantity1 = new IntegerQuantity<>(Integer.MAX_VALUE, Units.OHM);
+    IntegerQuantity<ElectricResistance> quantity2 = new IntegerQuantity<>(1, Units.OHM);
+    Quantity<ElectricResistance> result = quantity1.add(quantity2);
+    assertEquals(Long.valueOf(Integer.MAX_VALUE + 1L), result.getValue());
+  }
+
+  @Test
+  public void multiplyExactTest() {
+    IntegerQuantity<ElectricResistance> quantity = new IntegerQuantity<>(Integer.MAX_VALUE, Units.OHM);
+    assertEquals(Long.valueOf(2L * Integer.MAX_VALUE), quantity.multiply(2).getValue());
+    assertEquals(Integer.valueOf(3), new IntegerQuantity<>(6, Units.OHM).divide(2).getValue());
+  }
+
+  @Test
+  public void inexactOperationsTest() {
+    IntegerQuantity<ElectricResistance> quantity = new IntegerQuantity<>(3, Units.OHM);
+    assertEquals(Double.valueOf(1.5d), quantity.divide(2).getValue());
+    assertEquals(Double.valueOf(4.5d), quantity.multiply(1.5d).getValue());
+    assertEquals(Double.valueOf(0.5d), new IntegerQuantity<>(2, Units.OHM).inverse().getValue());
+    assertEquals(BigDecimal.valueOf(3.5d), quantity.add(Quantities.getQuantity(0.5d, Units.OHM)).getValue());
+    assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).negate(), new LongQuantity<>(Long.MIN_VALUE, Units.OHM).divide(-1).getValue());
+  }
+
   @SuppressWarnings({ "unchecked", "rawtypes" })
   @Test
   public void addTest() {
@@ -111,12 +144,38 @@ public class IntegerQuantityTest {
     assertEquals(value, anotherValue);
   }
 
+  @Test
+  public void testHashCodeAcrossStorage() {
+    Quantity<Length> longValue = Quantities.getQuantity(-1L, Units.METRE);
+    Quantity<Length> intResult = Quantities.getQuantity(-2L, Units.METRE).add(Quantities.getQuantity(1L, Units.METRE));
+    assertEquals(Integer.valueOf(-1), intResult.getValue());
+    assertEquals(longValue, intResult);
+    assertEquals(intResult, longValue);
+    assertEquals(longValue.hashCode(), intResult.hashCode());
+
+    Set<Quantity<Length>> set = new HashSet<>();
+    set.add(longValue);
+    set.add(intResult);
+    assertEquals(1, set.size());
+    Assert.assertTrue(set.contains(Quantities.getQuantity((short) -1, Units.METRE)));
+  }
+
+  @Test
+  public void testSymmetricEquality() {
+    Quantity<Length> integral = Quantities.getQuantity(1, Units.METRE);
+    Quantity<Length> decimal = Quantities.getQuantity(BigDecimal.ONE, Units.METRE);
+    Quantity<Length> lazy = Quantities.lazy(Quantities.getQuantity(1.0, Units.METRE));
+    assertEquals(decimal.equals(integral), integral.equals(decimal));
+    assertEquals(lazy.equals(integral), integral.equals(lazy));
+  }
+
   @Test
   public void milliOhmTest() {
     final IntegerQuantity<ElectricResistance> ONE_OHM = new IntegerQuantity<>(Integer.valueOf(1).intValue(), Units.OHM);
     final IntegerQuantity<ElectricResistance> ONE_MILLIOHM = new IntegerQuantity<>(Integer.valueOf(1).intValue(), MetricPrefix.MILLI(Units.OHM));
 
-    assertEquals(ONE_OHM, ONE_OHM.add(ONE_MILLIOHM));
+    assertEquals(new BigDecimal("1.001"),
+        ((AbstractQuantity<ElectricResistance>) ONE_OHM.add(ONE_MILLIOHM)).decimalValue(Units.OHM, MathContext.DECIMAL128).stripTrailingZeros());
     final IntegerQuantity<ElectricResistance> ONEOONE_MILLIOHM = new IntegerQuantity<>(Integer.valueOf(1001), MetricPrefix.MILLI(Units.OHM));
     assertEquals(ONEOONE_MILLIOHM, ONE_MILLIOHM.add(ONE_OHM));
   }
@@ -125,9 +184,11 @@ public class IntegerQuantityTest {
   public void yottaOhmTest() {
     final IntegerQuantity<ElectricResistance> ONE_OHM = new IntegerQuantity<>(Integer.valueOf(1).intValue(), Units.OHM);
     final IntegerQuantity<ElectricResistance> ONE_YOTTAOHM = new IntegerQuantity<>(Integer.valueOf(1).intValue(), MetricPrefix.YOTTA(Units.OHM));
-    final IntegerQuantity<ElectricResistance> INT_MIN_OHM = new IntegerQuantity<>(Integer.MIN_VALUE, Units.OHM);
 
-    assertEquals(INT_MIN_OHM, ONE_OHM.add(ONE_YOTTAOHM));
+    assertEquals(
+        new BigDecimal("1000000000000000000000001"),
+        ((AbstractQuantity<ElectricResistance>) ONE_OHM.add(ONE_YOTTAOHM)).decimalValue(Units.OHM, MathContext.DECIMAL128).setScale(0,
+            RoundingMode.UNNECESSARY));
   }
 
 }
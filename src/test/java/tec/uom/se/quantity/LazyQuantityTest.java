@@ -0,0 +1,153 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Area;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class LazyQuantityTest {
+
+  @Test
+  public void multiplyDivideTest() {
+    Quantity<Length> a = Quantities.getQuantity(2d, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(3d, Units.METRE);
+    Quantity<Time> c = Quantities.getQuantity(4d, Units.SECOND);
+    Quantity<?> eager = a.multiply(b).divide(c);
+    Quantity<?> lazy = Quantities.lazy(a).multiply(b).divide(c);
+    assertEquals(eager.getUnit(), lazy.getUnit());
+    assertEquals(eager.getValue().doubleValue(), lazy.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void cancellingUnitsTest() {
+    Quantity<Length> a = Quantities.getQuantity(10d, Units.METRE);
+    Quantity<Time> t = Quantities.getQuantity(5d, Units.SECOND);
+    Quantity<?> lazy = Quantities.lazy(a).multiply(t).divide(t);
+    assertEquals(Units.METRE, lazy.getUnit());
+    assertEquals(10d, lazy.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void conversionTest() {
+    Quantity<Length> distance = Quantities.getQuantity(36d, MetricPrefix.KILO(Units.METRE));
+    Quantity<Time> time = Quantities.getQuantity(1d, Units.HOUR);
+    ComparableQuantity<Speed> speed = Quantities.lazy(distance).divide(time).asType(Speed.class);
+    Quantity<Speed> converted = speed.to(Units.METRE_PER_SECOND);
+    assertEquals(Units.METRE_PER_SECOND, converted.getUnit());
+    assertEquals(10d, converted.getValue().doubleValue(), 1e-12);
+  }
+
+  @Test
+  public void inverseAndScaleTest() {
+    Quantity<Time> t = Quantities.getQuantity(4d, Units.SECOND);
+    Quantity<?> frequency = Quantities.lazy(t).multiply(2).inverse();
+    assertEquals(0.125d, frequency.getValue().doubleValue(), 0);
+    assertEquals(Units.SECOND.inverse(), frequency.getUnit());
+  }
+
+  @Test
+  public void decimalTest() {
+    Quantity<Length> a = Quantities.getQuantity(BigDecimal.ONE, Units.METRE);
+    Quantity<Area> area = Quantities.lazy(a).multiply(a).divide(3).asType(Area.class);
+    assertTrue(area.getValue() instanceof BigDecimal);
+    assertEquals(Units.SQUARE_METRE, area.getUnit());
+    assertEquals(new BigDecimal("0.3333333333333333333333333333333333"), area.getValue());
+  }
+
+  @Test
+  public void addTest() {
+    Quantity<Length> a = Quantities.getQuantity(2d, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(300d, MetricPrefix.CENTI(Units.METRE));
+    Quantity<Length> sum = Quantities.lazy(a).multiply(2).add(b);
+    assertEquals(Units.METRE, sum.getUnit());
+    assertEquals(7d, sum.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void equalityTest() {
+    Quantity<Length> a = Quantities.getQuantity(2d, Units.METRE);
+    assertEquals(a, Quantities.lazy(a).multiply(3).divide(3));
+    assertEquals(0, Quantities.lazy(a).compareTo(a));
+  }
+
+  @Test
+  public void longChainTest() {
+    Quantity<Length> a = Quantities.getQuantity(1d, Units.METRE);
+    Quantity<Time> t = Quantities.getQuantity(2d, Units.SECOND);
+    Quantity<?> q = Quantities.lazy(a);
+    for (int i = 0; i < 100_000; i++) {
+      q = q.multiply(2).multiply(t).divide(t).divide(2);
+    }
+    assertEquals(Units.METRE, q.getUnit());
+    assertEquals(1d, q.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void pendingConversionTest() {
+    Quantity<Length> km = Quantities.getQuantity(1.5, MetricPrefix.KILO(Units.METRE));
+    Quantity<Length> m = Quantities.lazy(km).to(Units.METRE).to(MetricPrefix.CENTI(Units.METRE)).to(Units.METRE);
+    assertEquals(Units.METRE, m.getUnit());
+    assertEquals(1500d, m.getValue().doubleValue(), 1e-9);
+    Quantity<?> area = Quantities.lazy(km).to(Units.METRE).multiply(Quantities.getQuantity(2d, Units.METRE));
+    assertEquals(Units.SQUARE_METRE, area.getUnit());
+    assertEquals(3000d, area.getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void inheritedMethodsTest() {
+    Quantity<Length> a = Quantities.getQuantity(2d, MetricPrefix.KILO(Units.METRE));
+    AbstractQuantity<Length> lazy = (AbstractQuantity<Length>) Quantities.lazy(a).multiply(3).divide(3);
+    assertEquals(a.hashCode(), lazy.hashCode());
+    assertEquals(a.toString(), lazy.toString());
+    assertTrue(lazy.isEquivalentTo(a));
+    assertEquals(0, lazy.compareTo(a));
+    assertEquals(2000d, lazy.toSI().getValue().doubleValue(), 0);
+    assertEquals(0, new BigDecimal("2000").compareTo((BigDecimal) lazy.to(Units.METRE, MathContext.DECIMAL64).getValue()));
+    assertEquals(2000, lazy.intValue(Units.METRE));
+    assertEquals(MetricPrefix.KILO(Units.METRE), lazy.asType(Length.class).getUnit());
+    assertEquals(0.5d, lazy.inverse().getValue().doubleValue(), 0);
+  }
+}
@@ -80,10 +80,10 @@ public class QuantitiesTest {
     assertTrue(BigDecimal.class.isInstance(bigIntegerQuantity.getValue()));
     assertTrue(BigDecimal.class.isInstance(bigDecimalQuantity.getValue()));
 
-    assertTrue(NumberQuantity.class.isInstance(shortQuantity));
-    assertTrue(NumberQuantity.class.isInstance(byteQuantity));
-    assertTrue(NumberQuantity.class.isInstance(longQuantity));
-    assertTrue(NumberQuantity.class.isInstance(intQuantity));
+    assertTrue(ShortQuantity.class.isInstance(shortQuantity));
+    assertTrue(ByteQuantity.class.isInstance(byteQuantity));
+    assertTrue(LongQuantity.class.isInstance(longQuantity));
+    assertTrue(IntegerQuantity.class.isInstance(intQuantity));
     assertTrue(NumberQuantity.class.isInstance(floatQuantity));
     assertTrue(DoubleQuantity.class.isInstance(doubleQuantity));
     assertTrue(DecimalQuantity.class.isInstance(bigIntegerQuantity));
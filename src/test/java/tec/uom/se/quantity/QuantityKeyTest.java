@@ -0,0 +1,151 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2021, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityKeyTest {
+
+  @Test
+  public void equalityAcrossUnitsTest() {
+    QuantityKey<Length> km = QuantityKey.of(Quantities.getQuantity(1, MetricPrefix.KILO(Units.METRE)));
+    QuantityKey<Length> m = QuantityKey.of(Quantities.getQuantity(1000d, Units.METRE));
+    assertEquals(km, m);
+    assertEquals(km.hashCode(), m.hashCode());
+    assertEquals(Units.METRE, km.getSystemUnit());
+    assertEquals(1000d, km.getSystemValue(), 0);
+  }
+
+  @Test
+  public void exactDecimalScalingTest() {
+    QuantityKey<Length> km = QuantityKey.of(Quantities.getQuantity(1.001, MetricPrefix.KILO(Units.METRE)));
+    QuantityKey<Length> m = QuantityKey.of(Quantities.getQuantity(1001, Units.METRE));
+    assertEquals(km, m);
+    assertEquals(km.hashCode(), m.hashCode());
+    assertEquals("1001 m", km.toString());
+  }
+
+  @Test
+  public void randomizedKilometreMetreTest() {
+    final Random random = new Random(363);
+    for (int i = 0; i < 10000; i++) {
+      final long millimetres = random.nextLong() % 1_000_000_000_000L;
+      final double kilometres = BigDecimal.valueOf(millimetres, 6).doubleValue();
+      final double metres = BigDecimal.valueOf(millimetres, 3).doubleValue();
+      QuantityKey<Length> km = QuantityKey.of(Quantities.getQuantity(kilometres, MetricPrefix.KILO(Units.METRE)));
+      QuantityKey<Length> m = QuantityKey.of(Quantities.getQuantity(metres, Units.METRE));
+      QuantityKey<Length> mm = QuantityKey.of(Quantities.getQuantity(millimetres, MetricPrefix.MILLI(Units.METRE)));
+      assertEquals(kilometres + " km", km, m);
+      assertEquals(kilometres + " km", km.hashCode(), m.hashCode());
+      assertEquals(millimetres + " mm", m, mm);
+      assertEquals(millimetres + " mm", m.hashCode(), mm.hashCode());
+    }
+  }
+
+  @Test
+  public void inexactConversionTest() {
+    QuantityKey<Temperature> celsius = QuantityKey.of(Quantities.getQuantity(0.1, Units.CELSIUS));
+    QuantityKey<Temperature> kelvin = QuantityKey.of(Quantities.getQuantity(273.25, Units.KELVIN));
+    assertEquals(celsius, kelvin);
+    assertEquals(celsius.hashCode(), kelvin.hashCode());
+  }
+
+  @Test
+  public void nonFiniteTest() {
+    assertEquals(QuantityKey.of(Quantities.getQuantity(Double.NaN, Units.METRE)), QuantityKey.of(Quantities.getQuantity(Double.NaN, Units.METRE)));
+    assertNotEquals(QuantityKey.of(Quantities.getQuantity(Double.POSITIVE_INFINITY, Units.METRE)),
+        QuantityKey.of(Quantities.getQuantity(1d, Units.METRE)));
+  }
+
+  @Test
+  public void inequalityTest() {
+    QuantityKey<Length> a = QuantityKey.of(Quantities.getQuantity(1d, Units.METRE));
+    QuantityKey<Length> b = QuantityKey.of(Quantities.getQuantity(2d, Units.METRE));
+    QuantityKey<Time> c = QuantityKey.of(Quantities.getQuantity(1d, Units.SECOND));
+    assertNotEquals(a, b);
+    assertNotEquals(a, c);
+  }
+
+  @Test
+  public void signedZeroTest() {
+    assertEquals(QuantityKey.of(Quantities.getQuantity(0d, Units.METRE)), QuantityKey.of(Quantities.getQuantity(-0d, Units.METRE)));
+    assertEquals(Quantities.getQuantity(0d, Units.METRE), Quantities.getQuantity(-0d, Units.METRE));
+    assertEquals(Quantities.getQuantity(0d, Units.METRE).hashCode(), Quantities.getQuantity(-0d, Units.METRE).hashCode());
+  }
+
+  @Test
+  public void significantDigitsTest() {
+    assertEquals(QuantityKey.of(Quantities.getQuantity(1, MetricPrefix.KILO(Units.METRE))),
+        QuantityKey.of(Quantities.getQuantity(999.9999999999999, Units.METRE)));
+    assertEquals("123456789012346000 m", QuantityKey.of(Quantities.getQuantity(123_456_789_012_345_678L, Units.METRE)).toString());
+    assertEquals("0.000001 m", QuantityKey.of(Quantities.getQuantity(1, MetricPrefix.MICRO(Units.METRE))).toString());
+    assertEquals(1e-300, QuantityKey.of(Quantities.getQuantity(1e-300, Units.METRE)).getSystemValue(), 1e-314);
+    assertEquals(QuantityKey.of(Quantities.getQuantity(Long.MIN_VALUE, MetricPrefix.KILO(Units.METRE))),
+        QuantityKey.of(Quantities.getQuantity(Long.MIN_VALUE * 1000d, Units.METRE)));
+  }
+
+  @Test
+  public void hashMapTest() {
+    Map<QuantityKey<Time>, String> map = new HashMap<>();
+    Quantity<Time> hour = Quantities.getQuantity(1, Units.HOUR);
+    map.put(QuantityKey.of(hour), "hour");
+    map.put(QuantityKey.of(Quantities.getQuantity(60, Units.MINUTE)), "minutes");
+    map.put(QuantityKey.of(Quantities.getQuantity(1, Units.SECOND)), "second");
+    assertEquals(2, map.size());
+    assertEquals("minutes", map.get(QuantityKey.of(Quantities.getQuantity(3600d, Units.SECOND))));
+    assertSame(hour, map.keySet().stream().filter(k -> k.getSystemValue() == 3600d).findFirst().get().getQuantity());
+  }
+
+  @Test
+  public void hashCodeConsistencyTest() {
+    Quantity<Length> a = Quantities.getQuantity(2d, Units.METRE);
+    Quantity<Length> b = Quantities.getQuantity(2d, Units.METRE);
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertEquals(java.util.Objects.hash(Units.METRE, 2d), a.hashCode());
+  }
+}
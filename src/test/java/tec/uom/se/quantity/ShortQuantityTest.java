@@ -48,7 +48,7 @@ public class ShortQuantityTest {
     ShortQuantity<ElectricResistance> quantity1 = new ShortQuantity<>(Short.valueOf("3").shortValue(), Units.OHM);
     ShortQuantity<ElectricResistance> quantity2 = new ShortQuantity<>(Short.valueOf("2").shortValue(), Units.OHM);
     Quantity<?> result = quantity1.divide(quantity2);
-    assertEquals(Integer.valueOf("1"), result.getValue());
+    assertEquals(1.5d, result.getValue().doubleValue(), 0d);
   }
 
   @Test